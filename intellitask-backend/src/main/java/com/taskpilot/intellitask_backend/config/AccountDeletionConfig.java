@@ -0,0 +1,33 @@
+package com.taskpilot.intellitask_backend.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class AccountDeletionConfig {
+    
+    @Value("${account.deletion.worker-threads:1}")
+    private int workerThreads;
+    
+    @Value("${account.deletion.queue-capacity:100}")
+    private int queueCapacity;
+    
+    @Bean(name = "accountDeletionExecutor")
+    public ThreadPoolTaskExecutor accountDeletionExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workerThreads);
+        executor.setMaxPoolSize(workerThreads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("account-deletion-");
+        // A rejected deletion keeps its mark and is picked up by a later resume pass
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(10);
+        executor.initialize();
+        return executor;
+    }
+}
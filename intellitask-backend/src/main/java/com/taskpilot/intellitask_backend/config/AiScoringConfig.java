@@ -0,0 +1,33 @@
+package com.taskpilot.intellitask_backend.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class AiScoringConfig {
+    
+    @Value("${ai.scoring.worker-threads:2}")
+    private int workerThreads;
+    
+    @Value("${ai.scoring.queue-capacity:1000}")
+    private int queueCapacity;
+    
+    @Bean(name = "priorityScoringExecutor")
+    public ThreadPoolTaskExecutor priorityScoringExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workerThreads);
+        executor.setMaxPoolSize(workerThreads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("ai-scoring-");
+        // Reject instead of running on the caller so a full queue never blocks a request thread
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(10);
+        executor.initialize();
+        return executor;
+    }
+}
@@ -2,8 +2,10 @@ package com.taskpilot.intellitask_backend.config;
 
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @Configuration
 @EnableJpaAuditing
+@EnableScheduling
 public class AppConfig {
 }
\ No newline at end of file
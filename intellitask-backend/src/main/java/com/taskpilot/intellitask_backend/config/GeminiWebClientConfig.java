@@ -0,0 +1,65 @@
+package com.taskpilot.intellitask_backend.config;
+
+import io.netty.channel.ChannelOption;
+import io.netty.handler.timeout.WriteTimeoutHandler;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+public class GeminiWebClientConfig {
+    
+    @Value("${gemini.http.connect-timeout:PT2S}")
+    private Duration connectTimeout;
+    
+    @Value("${gemini.http.read-timeout:PT15S}")
+    private Duration readTimeout;
+    
+    @Value("${gemini.http.max-connections:100}")
+    private int maxConnections;
+    
+    @Value("${gemini.http.pending-acquire-max:500}")
+    private int pendingAcquireMax;
+    
+    @Value("${gemini.http.pending-acquire-timeout:PT5S}")
+    private Duration pendingAcquireTimeout;
+    
+    @Value("${gemini.http.max-idle-time:PT30S}")
+    private Duration maxIdleTime;
+    
+    @Value("${gemini.http.max-life-time:PT5M}")
+    private Duration maxLifeTime;
+    
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider geminiConnectionProvider() {
+        return ConnectionProvider.builder("gemini")
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(pendingAcquireMax)
+                .pendingAcquireTimeout(pendingAcquireTimeout)
+                .maxIdleTime(maxIdleTime)
+                .maxLifeTime(maxLifeTime)
+                .evictInBackground(Duration.ofSeconds(30))
+                .build();
+    }
+    
+    @Bean
+    public WebClient geminiWebClient(ConnectionProvider geminiConnectionProvider) {
+        HttpClient httpClient = HttpClient.create(geminiConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout.toMillis())
+                // responseTimeout is the one read deadline; it is only armed while a response is awaited
+                .responseTimeout(readTimeout)
+                .doOnConnected(connection -> connection
+                        .addHandlerLast(new WriteTimeoutHandler(readTimeout.toMillis(), TimeUnit.MILLISECONDS)));
+        
+        return WebClient.builder()
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+    }
+}
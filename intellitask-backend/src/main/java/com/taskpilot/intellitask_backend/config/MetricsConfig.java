@@ -0,0 +1,124 @@
+package com.taskpilot.intellitask_backend.config;
+
+import com.taskpilot.intellitask_backend.entity.AiJobStatus;
+import com.taskpilot.intellitask_backend.repository.AiJobRepository;
+import com.taskpilot.intellitask_backend.security.BoundedPasswordEncoder;
+import com.taskpilot.intellitask_backend.security.JwtUtil;
+import com.taskpilot.intellitask_backend.security.LoginThrottle;
+import com.taskpilot.intellitask_backend.security.TokenEpochCache;
+import com.taskpilot.intellitask_backend.service.AccountDeletionService;
+import com.taskpilot.intellitask_backend.service.AiJobWorker;
+import com.taskpilot.intellitask_backend.service.TodoListCache;
+import com.taskpilot.intellitask_backend.service.ai.GeminiCircuitBreaker;
+import com.taskpilot.intellitask_backend.service.ai.GeminiRateLimiter;
+import com.taskpilot.intellitask_backend.service.ai.InFlightRequestCoalescer;
+import com.taskpilot.intellitask_backend.service.ai.PriorityCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Map;
+import java.util.function.Function;
+
+@Configuration
+public class MetricsConfig {
+    
+    // Operational state is only exported here, on the scrape endpoint, never through the public API
+    @Bean
+    public MeterBinder aiComponentMetrics(GeminiRateLimiter geminiRateLimiter,
+                                          GeminiCircuitBreaker geminiCircuitBreaker,
+                                          InFlightRequestCoalescer inFlightRequestCoalescer,
+                                          PriorityCache priorityCache,
+                                          AiJobRepository aiJobRepository,
+                                          AiJobWorker aiJobWorker) {
+        return registry -> {
+            gauge(registry, "ai.limiter.queue.depth", geminiRateLimiter, GeminiRateLimiter::stats, "queueDepth");
+            gauge(registry, "ai.limiter.permits.in.use", geminiRateLimiter, GeminiRateLimiter::stats, "permitsInUse");
+            gauge(registry, "ai.limiter.concurrency.limit", geminiRateLimiter, GeminiRateLimiter::stats, "concurrencyLimit");
+            counter(registry, "ai.limiter.shed", geminiRateLimiter, GeminiRateLimiter::stats, "shed");
+            counter(registry, "ai.limiter.backpressure.signals", geminiRateLimiter, GeminiRateLimiter::stats, "backpressureSignals");
+            
+            // 0 = closed, 1 = open, 2 = half-open
+            Gauge.builder("ai.breaker.state", geminiCircuitBreaker, breaker -> breaker.getState().ordinal())
+                    .register(registry);
+            counter(registry, "ai.breaker.rejected", geminiCircuitBreaker, GeminiCircuitBreaker::stats, "rejected");
+            
+            gauge(registry, "ai.coalescer.in.flight", inFlightRequestCoalescer, InFlightRequestCoalescer::stats, "inFlight");
+            counter(registry, "ai.coalescer.upstream.calls", inFlightRequestCoalescer, InFlightRequestCoalescer::stats, "upstreamCalls");
+            counter(registry, "ai.coalescer.coalesced.calls", inFlightRequestCoalescer, InFlightRequestCoalescer::stats, "coalescedCalls");
+            
+            gauge(registry, "ai.priority.cache.size", priorityCache, PriorityCache::stats, "size");
+            counter(registry, "ai.priority.cache.hits", priorityCache, PriorityCache::stats, "hits");
+            counter(registry, "ai.priority.cache.misses", priorityCache, PriorityCache::stats, "misses");
+            counter(registry, "ai.priority.cache.evictions", priorityCache, PriorityCache::stats, "evictions");
+            
+            for (AiJobStatus status : AiJobStatus.values()) {
+                Gauge.builder("ai.jobs", aiJobRepository, repository -> repository.countByStatus(status))
+                        .tag("status", status.name().toLowerCase())
+                        .register(registry);
+            }
+            gauge(registry, "ai.jobs.workers.busy", aiJobWorker, AiJobWorker::stats, "busyWorkers");
+        };
+    }
+    
+    @Bean
+    public MeterBinder authMetrics(JwtUtil jwtUtil,
+                                   TokenEpochCache tokenEpochCache,
+                                   BoundedPasswordEncoder passwordEncoder,
+                                   LoginThrottle loginThrottle) {
+        return registry -> {
+            gauge(registry, "auth.jwt.cache.size", jwtUtil, JwtUtil::stats, "size");
+            counter(registry, "auth.jwt.cache.hits", jwtUtil, JwtUtil::stats, "hits");
+            counter(registry, "auth.jwt.cache.misses", jwtUtil, JwtUtil::stats, "misses");
+            counter(registry, "auth.jwt.cache.evictions", jwtUtil, JwtUtil::stats, "evictions");
+            
+            gauge(registry, "auth.token.epoch.cache.size", tokenEpochCache, TokenEpochCache::stats, "size");
+            counter(registry, "auth.token.epoch.cache.hits", tokenEpochCache, TokenEpochCache::stats, "hits");
+            counter(registry, "auth.token.epoch.cache.misses", tokenEpochCache, TokenEpochCache::stats, "misses");
+            
+            gauge(registry, "auth.hashing.active", passwordEncoder, BoundedPasswordEncoder::stats, "active");
+            gauge(registry, "auth.hashing.queued", passwordEncoder, BoundedPasswordEncoder::stats, "queued");
+            counter(registry, "auth.hashing.rejected", passwordEncoder, BoundedPasswordEncoder::stats, "rejected");
+            counter(registry, "auth.hashing.timed.out", passwordEncoder, BoundedPasswordEncoder::stats, "timedOut");
+            counter(registry, "auth.throttle.rejected", loginThrottle, LoginThrottle::stats, "throttled");
+        };
+    }
+    
+    @Bean
+    public MeterBinder accountMetrics(AccountDeletionService accountDeletionService) {
+        return registry -> {
+            gauge(registry, "account.deletions.pending", accountDeletionService, AccountDeletionService::stats, "pending");
+            gauge(registry, "account.deletions.oldest.age.seconds", accountDeletionService, AccountDeletionService::stats, "oldestAgeSeconds");
+        };
+    }
+    
+    @Bean
+    public MeterBinder todoMetrics(TodoListCache todoListCache) {
+        return registry -> {
+            gauge(registry, "todo.list.cache.size", todoListCache, TodoListCache::stats, "size");
+            gauge(registry, "todo.list.cache.bytes", todoListCache, TodoListCache::stats, "bytes");
+            counter(registry, "todo.list.cache.hits", todoListCache, TodoListCache::stats, "hits");
+            counter(registry, "todo.list.cache.misses", todoListCache, TodoListCache::stats, "misses");
+            counter(registry, "todo.list.cache.write.throughs", todoListCache, TodoListCache::stats, "writeThroughs");
+            counter(registry, "todo.list.cache.evictions", todoListCache, TodoListCache::stats, "evictions");
+        };
+    }
+    
+    // Meters reference the singleton component, not the stats function, since Micrometer holds them weakly
+    private static <T> void gauge(MeterRegistry registry, String name, T component,
+                                  Function<T, Map<String, Object>> stats, String key) {
+        Gauge.builder(name, component, c -> value(stats.apply(c), key)).register(registry);
+    }
+    
+    private static <T> void counter(MeterRegistry registry, String name, T component,
+                                    Function<T, Map<String, Object>> stats, String key) {
+        FunctionCounter.builder(name, component, c -> value(stats.apply(c), key)).register(registry);
+    }
+    
+    private static double value(Map<String, Object> stats, String key) {
+        return stats.get(key) instanceof Number number ? number.doubleValue() : Double.NaN;
+    }
+}
@@ -1,9 +1,20 @@
 package com.taskpilot.intellitask_backend.config;
 
+import com.taskpilot.intellitask_backend.security.BoundedPasswordEncoder;
 import com.taskpilot.intellitask_backend.security.JwtAuthenticationFilter;
+import com.taskpilot.intellitask_backend.security.TimedPasswordEncoder;
+import com.taskpilot.intellitask_backend.security.UserRateLimitFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.boot.actuate.health.HealthEndpoint;
+import org.springframework.boot.actuate.metrics.export.prometheus.PrometheusScrapeEndpoint;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
@@ -21,6 +32,7 @@ import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import java.time.Duration;
 import java.util.Arrays;
 
 @Configuration
@@ -30,21 +42,29 @@ import java.util.Arrays;
 public class SecurityConfig {
     
     private final JwtAuthenticationFilter jwtAuthFilter;
+    private final UserRateLimitFilter userRateLimitFilter;
     private final UserDetailsService userDetailsService;
     
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http,
+                                                   AuthenticationProvider authenticationProvider) throws Exception {
         http
             .cors(cors -> cors.configurationSource(corsConfigurationSource()))
             .csrf(csrf -> csrf.disable())
             .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
             .authorizeHttpRequests(auth -> auth
+                // Async AI endpoints were authorized on the original dispatch
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                 .requestMatchers("/api/auth/signup", "/api/auth/login").permitAll()
+                // Scraped by Prometheus without a user token. EndpointRequest only matches on the internal
+                // management port (management.server.port); on the public port /actuator is not served
+                .requestMatchers(EndpointRequest.to(HealthEndpoint.class, PrometheusScrapeEndpoint.class)).permitAll()
                 .requestMatchers("/api/todo/**").authenticated()
                 .anyRequest().authenticated()
             )
-            .authenticationProvider(authenticationProvider())
-            .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class);
+            .authenticationProvider(authenticationProvider)
+            .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class)
+            .addFilterAfter(userRateLimitFilter, JwtAuthenticationFilter.class);
         
         return http.build();
     }
@@ -63,10 +83,10 @@ public class SecurityConfig {
     }
     
     @Bean
-    public AuthenticationProvider authenticationProvider() {
+    public AuthenticationProvider authenticationProvider(PasswordEncoder passwordEncoder) {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
         authProvider.setUserDetailsService(userDetailsService);
-        authProvider.setPasswordEncoder(passwordEncoder());
+        authProvider.setPasswordEncoder(passwordEncoder);
         return authProvider;
     }
     
@@ -75,8 +95,13 @@ public class SecurityConfig {
         return config.getAuthenticationManager();
     }
     
+    // Raising the strength takes effect for existing users on their next login (AuthService rehashes)
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public BoundedPasswordEncoder passwordEncoder(MeterRegistry meterRegistry,
+                                                  @Qualifier("passwordHashingExecutor") ThreadPoolTaskExecutor executor,
+                                                  @Value("${auth.bcrypt.strength:10}") int strength,
+                                                  @Value("${auth.hashing.max-wait:PT5S}") Duration maxWait) {
+        PasswordEncoder bcrypt = new BCryptPasswordEncoder(strength);
+        return new BoundedPasswordEncoder(new TimedPasswordEncoder(bcrypt, meterRegistry), executor, maxWait);
     }
 }
\ No newline at end of file
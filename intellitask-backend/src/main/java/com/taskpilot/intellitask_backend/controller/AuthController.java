@@ -2,9 +2,11 @@ package com.taskpilot.intellitask_backend.controller;
 
 import com.taskpilot.intellitask_backend.dto.request.LoginRequest;
 import com.taskpilot.intellitask_backend.dto.request.SignUpRequest;
+import com.taskpilot.intellitask_backend.dto.response.AccountDeletionResponse;
 import com.taskpilot.intellitask_backend.dto.response.JwtResponse;
 import com.taskpilot.intellitask_backend.dto.response.UserDto;
 import com.taskpilot.intellitask_backend.service.AuthService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -24,14 +26,16 @@ public class AuthController {
     private final AuthService authService;
     
     @PostMapping("/signup")
-    public ResponseEntity<JwtResponse> register(@Valid @RequestBody SignUpRequest request) {
-        JwtResponse response = authService.register(request);
+    public ResponseEntity<JwtResponse> register(@Valid @RequestBody SignUpRequest request,
+                                                HttpServletRequest httpRequest) {
+        JwtResponse response = authService.register(request, httpRequest.getRemoteAddr());
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
     
     @PostMapping("/login")
-    public ResponseEntity<JwtResponse> login(@Valid @RequestBody LoginRequest request) {
-        JwtResponse response = authService.login(request);
+    public ResponseEntity<JwtResponse> login(@Valid @RequestBody LoginRequest request,
+                                             HttpServletRequest httpRequest) {
+        JwtResponse response = authService.login(request, httpRequest.getRemoteAddr());
         return ResponseEntity.ok(response);
     }
     
@@ -47,13 +51,12 @@ public class AuthController {
     }
     
     @DeleteMapping("/account")
-    public ResponseEntity<Map<String, Object>> deleteAccount(@AuthenticationPrincipal UserDetails userDetails) {
+    public ResponseEntity<AccountDeletionResponse> deleteAccount(@AuthenticationPrincipal UserDetails userDetails) {
         Long userId = Long.parseLong(userDetails.getUsername());
-        authService.deleteAccount(userId);
+        AccountDeletionResponse response = authService.deleteAccount(userId);
         
-        Map<String, Object> response = new HashMap<>();
-        response.put("message", "Account deleted successfully");
-        
-        return ResponseEntity.ok(response);
+        // Large accounts are deleted in the background; 202 until that finishes
+        HttpStatus status = response.isDeleted() ? HttpStatus.OK : HttpStatus.ACCEPTED;
+        return ResponseEntity.status(status).body(response);
     }
 }
\ No newline at end of file
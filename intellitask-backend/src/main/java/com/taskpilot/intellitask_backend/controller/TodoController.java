@@ -1,23 +1,33 @@
 package com.taskpilot.intellitask_backend.controller;
 
+import com.taskpilot.intellitask_backend.dto.request.BulkTodoOperation;
+import com.taskpilot.intellitask_backend.dto.request.BulkTodoRequest;
 import com.taskpilot.intellitask_backend.dto.request.CreateTodoRequest;
 import com.taskpilot.intellitask_backend.dto.request.UpdateCompletionRequest;
+import com.taskpilot.intellitask_backend.dto.response.BulkTodoResponse;
 import com.taskpilot.intellitask_backend.dto.response.DailySummaryResponse;
+import com.taskpilot.intellitask_backend.dto.response.PriorityStatusResponse;
 import com.taskpilot.intellitask_backend.dto.response.TodoItemDto;
+import com.taskpilot.intellitask_backend.dto.response.TodoPageResponse;
 import com.taskpilot.intellitask_backend.dto.response.UpdatePrioritiesResponse;
-import com.taskpilot.intellitask_backend.entity.TodoItem;
-import com.taskpilot.intellitask_backend.repository.TodoItemRepository;
-import com.taskpilot.intellitask_backend.service.AIService;
+import com.taskpilot.intellitask_backend.exception.TooManyRequestsException;
+import com.taskpilot.intellitask_backend.security.UserRateLimiter;
+import com.taskpilot.intellitask_backend.service.AiJobService;
+import com.taskpilot.intellitask_backend.service.DailySummaryService;
 import com.taskpilot.intellitask_backend.service.TodoService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
-import java.util.List;
+import java.time.Duration;
 
 @RestController
 @RequestMapping("/api/todo")
@@ -25,14 +35,27 @@ import java.util.List;
 public class TodoController {
     
     private final TodoService todoService;
-    private final TodoItemRepository todoItemRepository;
-    private final AIService aiService;
+    private final DailySummaryService dailySummaryService;
+    private final AiJobService aiJobService;
+    private final UserRateLimiter userRateLimiter;
     
-    @GetMapping
-    public ResponseEntity<List<TodoItemDto>> getTodoItems(@AuthenticationPrincipal UserDetails userDetails) {
+    // Served as pre-serialized JSON straight from the per-user list cache
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<byte[]> getTodoItems(@AuthenticationPrincipal UserDetails userDetails) {
         Long userId = Long.parseLong(userDetails.getUsername());
-        List<TodoItemDto> items = todoService.getUserTodos(userId);
-        return ResponseEntity.ok(items);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(todoService.getUserTodosJson(userId));
+    }
+    
+    @GetMapping("/page")
+    public ResponseEntity<TodoPageResponse> getTodoPage(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        Long userId = Long.parseLong(userDetails.getUsername());
+        TodoPageResponse page = todoService.getUserTodoPage(userId, cursor, limit);
+        return ResponseEntity.ok(page);
     }
     
     @PostMapping
@@ -44,6 +67,24 @@ public class TodoController {
         return ResponseEntity.status(HttpStatus.CREATED).body(item);
     }
     
+    @PostMapping("/bulk")
+    public ResponseEntity<BulkTodoResponse> bulkUpdate(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @Valid @RequestBody BulkTodoRequest request) {
+        Long userId = Long.parseLong(userDetails.getUsername());
+        // Every CREATE queues a Gemini scoring job, so each costs a task-creation token; a bulk
+        // that only completes or deletes costs one
+        long creates = request.getOperations().stream()
+                .filter(operation -> operation.getType() == BulkTodoOperation.Type.CREATE)
+                .count();
+        Duration retryAfter = userRateLimiter.tryAcquire(userId, UserRateLimiter.RouteGroup.TODO_WRITES, (int) Math.max(creates, 1));
+        if (!retryAfter.isZero()) {
+            throw new TooManyRequestsException("Rate limit exceeded, please slow down", retryAfter);
+        }
+        BulkTodoResponse response = todoService.applyBulk(userId, request);
+        return ResponseEntity.ok(response);
+    }
+    
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteTodoItem(
             @AuthenticationPrincipal UserDetails userDetails,
@@ -63,23 +104,36 @@ public class TodoController {
         return ResponseEntity.ok(item);
     }
     
+    @GetMapping("/{id}/priority-status")
+    public ResponseEntity<PriorityStatusResponse> getPriorityStatus(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @PathVariable Long id) {
+        Long userId = Long.parseLong(userDetails.getUsername());
+        PriorityStatusResponse status = todoService.getPriorityStatus(userId, id);
+        return ResponseEntity.ok(status);
+    }
+    
     @GetMapping("/ai/daily-summary")
-    public ResponseEntity<DailySummaryResponse> getDailySummary(@AuthenticationPrincipal UserDetails userDetails) {
+    public Mono<ResponseEntity<DailySummaryResponse>> getDailySummary(@AuthenticationPrincipal UserDetails userDetails) {
         Long userId = Long.parseLong(userDetails.getUsername());
-        List<TodoItem> userTasks = todoItemRepository.findByUserIdAndCompletedFalse(userId);
-        
-        if (userTasks.isEmpty()) {
-            return ResponseEntity.ok(new DailySummaryResponse("All your tasks are completed! Great job staying productive."));
-        }
-        
-        String summary = aiService.generateDailySummary(userTasks);
-        return ResponseEntity.ok(new DailySummaryResponse(summary));
+        return dailySummaryService.getDailySummaryAsync(userId)
+                .map(summary -> ResponseEntity.ok(new DailySummaryResponse(summary)));
+    }
+    
+    @GetMapping(value = "/ai/daily-summary/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<String>> streamDailySummary(@AuthenticationPrincipal UserDetails userDetails) {
+        Long userId = Long.parseLong(userDetails.getUsername());
+        return dailySummaryService.streamDailySummary(userId)
+                .map(chunk -> ServerSentEvent.builder(chunk).event("summary").build())
+                .concatWithValues(ServerSentEvent.builder("").event("done").build());
     }
     
     @PostMapping("/ai/update-priorities")
-    public ResponseEntity<UpdatePrioritiesResponse> updatePriorities(@AuthenticationPrincipal UserDetails userDetails) {
+    public ResponseEntity<UpdatePrioritiesResponse> updatePriorities(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @RequestParam(defaultValue = "false") boolean full) {
         Long userId = Long.parseLong(userDetails.getUsername());
-        UpdatePrioritiesResponse response = aiService.updateAllPriorities(userId);
-        return ResponseEntity.ok(response);
+        UpdatePrioritiesResponse response = aiJobService.enqueueUpdatePriorities(userId, full);
+        return ResponseEntity.status(response.getUpdatedCount() > 0 ? HttpStatus.ACCEPTED : HttpStatus.OK).body(response);
     }
 }
\ No newline at end of file
@@ -0,0 +1,27 @@
+package com.taskpilot.intellitask_backend.dto.request;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkTodoOperation {
+    
+    public enum Type { CREATE, COMPLETE, UNCOMPLETE, DELETE }
+    
+    @NotNull(message = "Operation type is required")
+    private Type type;
+    
+    // Target of COMPLETE, UNCOMPLETE and DELETE
+    private Long id;
+    
+    // Fields of a CREATE
+    private String task;
+    
+    private LocalDate date;
+}
@@ -0,0 +1,18 @@
+package com.taskpilot.intellitask_backend.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkTodoRequest {
+    
+    @NotEmpty(message = "At least one operation is required")
+    private List<@Valid BulkTodoOperation> operations;
+}
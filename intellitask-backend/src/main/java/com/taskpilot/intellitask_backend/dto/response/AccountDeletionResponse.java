@@ -0,0 +1,18 @@
+package com.taskpilot.intellitask_backend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AccountDeletionResponse {
+    
+    private String message;
+    
+    private Long taskCount;
+    
+    // False while an account too large to delete inline is still being deleted in the background
+    private boolean deleted;
+}
@@ -0,0 +1,22 @@
+package com.taskpilot.intellitask_backend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkTodoResponse {
+    
+    private List<TodoItemDto> created;
+    
+    // Rows actually changed; ids that do not exist or belong to another user are not counted
+    private Integer completed;
+    
+    private Integer uncompleted;
+    
+    private Integer deleted;
+}
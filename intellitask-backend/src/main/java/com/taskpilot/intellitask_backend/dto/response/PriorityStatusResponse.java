@@ -0,0 +1,22 @@
+package com.taskpilot.intellitask_backend.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.taskpilot.intellitask_backend.entity.PriorityEngine;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PriorityStatusResponse {
+    
+    @JsonProperty("_id")
+    private Long id;
+    
+    private Integer aiPriority;
+    
+    private Boolean pending;
+    
+    private PriorityEngine engine;
+}
@@ -2,6 +2,7 @@ package com.taskpilot.intellitask_backend.dto.response;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.taskpilot.intellitask_backend.entity.PriorityEngine;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -30,6 +31,10 @@ public class TodoItemDto {
     
     private Integer aiPriority;
     
+    private Boolean aiPriorityPending;
+    
+    private PriorityEngine aiPriorityEngine;
+    
     @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ss.SSS'Z'")
     private LocalDateTime createdAt;
     
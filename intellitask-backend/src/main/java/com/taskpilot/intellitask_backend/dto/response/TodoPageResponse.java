@@ -0,0 +1,18 @@
+package com.taskpilot.intellitask_backend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TodoPageResponse {
+    
+    private List<TodoItemDto> items;
+    
+    // Null on the last page
+    private String nextCursor;
+}
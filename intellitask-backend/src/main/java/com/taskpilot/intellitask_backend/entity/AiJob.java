@@ -0,0 +1,69 @@
+package com.taskpilot.intellitask_backend.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "ai_jobs", indexes = {
+    @Index(name = "idx_ai_jobs_status_available_at", columnList = "status, available_at"),
+    @Index(name = "idx_ai_jobs_user_type_status", columnList = "user_id, type, status")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@EntityListeners(AuditingEntityListener.class)
+public class AiJob {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "ai_jobs_id")
+    @TableGenerator(name = "ai_jobs_id", table = "id_sequences", pkColumnName = "sequence_name",
+                    valueColumnName = "next_val", pkColumnValue = "ai_jobs", allocationSize = 50)
+    private Long id;
+    
+    @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
+    @Column(nullable = false, length = 30)
+    private AiJobType type;
+    
+    @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
+    @Column(nullable = false, length = 20)
+    private AiJobStatus status = AiJobStatus.PENDING;
+    
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+    
+    @Column(name = "todo_id")
+    private Long todoId;
+    
+    @Column(nullable = false)
+    private Integer attempts = 0;
+    
+    // While PENDING: earliest time the job may run (backoff). While RUNNING: lease expiry,
+    // after which any worker may reclaim it from a node that died mid-job.
+    @Column(name = "available_at", nullable = false)
+    private LocalDateTime availableAt;
+    
+    @Column(name = "lease_owner", length = 100)
+    private String leaseOwner;
+    
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+    
+    @CreatedDate
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+    
+    @LastModifiedDate
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
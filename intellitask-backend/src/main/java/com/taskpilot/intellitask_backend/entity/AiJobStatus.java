@@ -0,0 +1,7 @@
+package com.taskpilot.intellitask_backend.entity;
+
+public enum AiJobStatus {
+    PENDING,
+    RUNNING,
+    DEAD
+}
@@ -0,0 +1,6 @@
+package com.taskpilot.intellitask_backend.entity;
+
+public enum AiJobType {
+    SCORE_TASK,
+    UPDATE_PRIORITIES
+}
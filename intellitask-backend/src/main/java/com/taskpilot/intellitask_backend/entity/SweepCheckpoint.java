@@ -0,0 +1,43 @@
+package com.taskpilot.intellitask_backend.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "sweep_checkpoints")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@EntityListeners(AuditingEntityListener.class)
+public class SweepCheckpoint {
+    
+    @Id
+    @Column(length = 50)
+    private String name;
+    
+    @Column(name = "run_date")
+    private LocalDate runDate;
+    
+    @Column(name = "last_user_id", nullable = false)
+    private Long lastUserId = 0L;
+    
+    @Column(nullable = false)
+    private Boolean completed = false;
+    
+    @Column(name = "lease_owner", length = 100)
+    private String leaseOwner;
+    
+    @Column(name = "lease_until")
+    private LocalDateTime leaseUntil;
+    
+    @LastModifiedDate
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
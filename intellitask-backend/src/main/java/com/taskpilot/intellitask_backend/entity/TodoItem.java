@@ -1,9 +1,12 @@
 package com.taskpilot.intellitask_backend.entity;
 
+import com.taskpilot.intellitask_backend.service.ai.DueDateBucket;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -12,15 +15,21 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "todo_items")
+@Table(name = "todo_items", indexes = {
+    @Index(name = "idx_todo_items_user_completed_expires", columnList = "user_id, completed, ai_priority_expires_on"),
+    @Index(name = "idx_todo_items_user_created", columnList = "user_id, created_at, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @EntityListeners(AuditingEntityListener.class)
 public class TodoItem {
     
+    // Pooled ids let Hibernate batch inserts; IDENTITY forces one round trip per row
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "todo_items_id")
+    @TableGenerator(name = "todo_items_id", table = "id_sequences", pkColumnName = "sequence_name",
+                    valueColumnName = "next_val", pkColumnValue = "todo_items", allocationSize = 50)
     private Long id;
     
     @Column(nullable = false)
@@ -38,6 +47,29 @@ public class TodoItem {
     @Column(name = "ai_priority")
     private Integer aiPriority;
     
+    @Column(name = "ai_priority_pending", columnDefinition = "boolean default false")
+    private Boolean aiPriorityPending = false;
+    
+    @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
+    @Column(name = "ai_priority_engine", length = 20)
+    private PriorityEngine aiPriorityEngine;
+    
+    // Fingerprint of the inputs aiPriority was scored from; see ScoringFingerprint
+    @Column(name = "ai_text_hash", length = 64)
+    private String aiTextHash;
+    
+    @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
+    @Column(name = "ai_due_bucket", length = 20)
+    private DueDateBucket aiDueBucket;
+    
+    @Column(name = "ai_priority_expires_on")
+    private LocalDate aiPriorityExpiresOn;
+    
+    @Column(name = "ai_prompt_version")
+    private Integer aiPromptVersion;
+    
     @CreatedDate
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
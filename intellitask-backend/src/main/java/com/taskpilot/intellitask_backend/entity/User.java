@@ -9,8 +9,6 @@ import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import java.time.LocalDateTime;
-import java.util.ArrayList;
-import java.util.List;
 
 @Entity
 @Table(name = "users", uniqueConstraints = {
@@ -23,7 +21,9 @@ import java.util.List;
 public class User {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "users_id")
+    @TableGenerator(name = "users_id", table = "id_sequences", pkColumnName = "sequence_name",
+                    valueColumnName = "next_val", pkColumnValue = "users", allocationSize = 50)
     private Long id;
     
     @Column(nullable = false)
@@ -37,8 +37,22 @@ public class User {
     @Column(nullable = false)
     private String password;
     
-    @OneToMany(mappedBy = "user", cascade = CascadeType.ALL, orphanRemoval = true)
-    private List<TodoItem> todoItems = new ArrayList<>();
+    // Tasks are reached through TodoItemRepository; mapping them here would load a user's whole
+    // history on delete, so AccountDeletionService removes them in chunks before the user row
+    @Column(name = "deletion_requested_at")
+    private LocalDateTime deletionRequestedAt;
+    
+    // Held by the node deleting the account; only ever changed by UserRepository's deletion queries
+    @Column(name = "deletion_lease_until", insertable = false, updatable = false)
+    private LocalDateTime deletionLeaseUntil;
+    
+    // Issued tokens carry this value; bumping it revokes them all
+    @Column(name = "token_epoch", nullable = false)
+    private Integer tokenEpoch = 0;
+    
+    // Only ever changed by UserRepository.incrementTodoVersion, never by saving the entity
+    @Column(name = "todo_version", nullable = false, insertable = false, updatable = false)
+    private Long todoVersion;
     
     @CreatedDate
     @Column(name = "created_at", nullable = false, updatable = false)
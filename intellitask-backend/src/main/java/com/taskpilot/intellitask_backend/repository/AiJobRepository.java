@@ -0,0 +1,51 @@
+package com.taskpilot.intellitask_backend.repository;
+
+import com.taskpilot.intellitask_backend.entity.AiJob;
+import com.taskpilot.intellitask_backend.entity.AiJobStatus;
+import com.taskpilot.intellitask_backend.entity.AiJobType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface AiJobRepository extends JpaRepository<AiJob, Long> {
+    
+    // Rows locked by another node's claim are skipped rather than waited on, so replicas
+    // claim disjoint batches concurrently; must run inside a transaction
+    @Query(value = "SELECT * FROM ai_jobs WHERE status IN ('PENDING', 'RUNNING') AND available_at <= :now " +
+                   "ORDER BY available_at LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<AiJob> lockClaimable(@Param("now") LocalDateTime now, @Param("limit") int limit);
+    
+    boolean existsByUserIdAndTypeAndStatus(Long userId, AiJobType type, AiJobStatus status);
+    
+    long countByStatus(AiJobStatus status);
+    
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM AiJob j WHERE j.id = :id AND j.leaseOwner = :owner")
+    int deleteClaimed(@Param("id") Long id, @Param("owner") String owner);
+    
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM AiJob j WHERE j.userId = :userId")
+    int deleteByUserId(@Param("userId") Long userId);
+    
+    @Transactional
+    @Modifying
+    // Only rows still claimed by this owner: a job reclaimed after an expired lease is left alone
+    @Query("UPDATE AiJob j SET j.availableAt = :until WHERE j.id IN :ids AND j.leaseOwner = :owner")
+    int renewLeases(@Param("ids") List<Long> ids, @Param("owner") String owner, @Param("until") LocalDateTime until);
+    
+    @Transactional
+    @Modifying
+    @Query("UPDATE AiJob j SET j.status = :status, j.availableAt = :availableAt, j.lastError = :error, " +
+           "j.leaseOwner = NULL WHERE j.id = :id AND j.leaseOwner = :owner")
+    int releaseClaimed(@Param("id") Long id, @Param("owner") String owner, @Param("status") AiJobStatus status,
+                       @Param("availableAt") LocalDateTime availableAt, @Param("error") String error);
+}
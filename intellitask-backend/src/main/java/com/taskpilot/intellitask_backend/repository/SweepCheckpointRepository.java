@@ -0,0 +1,45 @@
+package com.taskpilot.intellitask_backend.repository;
+
+import com.taskpilot.intellitask_backend.entity.SweepCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Repository
+public interface SweepCheckpointRepository extends JpaRepository<SweepCheckpoint, String> {
+    
+    // A single conditional UPDATE, so of several nodes racing for an idle or expired lease
+    // exactly one sees a row updated
+    @Transactional
+    @Modifying
+    @Query("UPDATE SweepCheckpoint c SET c.leaseOwner = :owner, c.leaseUntil = :until WHERE c.name = :name " +
+           "AND (c.leaseOwner IS NULL OR c.leaseOwner = :owner OR c.leaseUntil < :now)")
+    int claimLease(@Param("name") String name, @Param("owner") String owner,
+                   @Param("now") LocalDateTime now, @Param("until") LocalDateTime until);
+    
+    @Transactional
+    @Modifying
+    @Query("UPDATE SweepCheckpoint c SET c.leaseUntil = :until WHERE c.name = :name AND c.leaseOwner = :owner")
+    int renewLease(@Param("name") String name, @Param("owner") String owner, @Param("until") LocalDateTime until);
+    
+    @Transactional
+    @Modifying
+    @Query("UPDATE SweepCheckpoint c SET c.leaseOwner = NULL, c.leaseUntil = NULL " +
+           "WHERE c.name = :name AND c.leaseOwner = :owner")
+    int releaseLease(@Param("name") String name, @Param("owner") String owner);
+    
+    // Progress is only written by the lease holder, and each write extends the lease
+    @Transactional
+    @Modifying
+    @Query("UPDATE SweepCheckpoint c SET c.runDate = :runDate, c.lastUserId = :lastUserId, c.completed = :completed, " +
+           "c.leaseUntil = :until, c.updatedAt = :updatedAt WHERE c.name = :name AND c.leaseOwner = :owner")
+    int saveProgress(@Param("name") String name, @Param("owner") String owner, @Param("runDate") LocalDate runDate,
+                     @Param("lastUserId") Long lastUserId, @Param("completed") Boolean completed,
+                     @Param("updatedAt") LocalDateTime updatedAt, @Param("until") LocalDateTime until);
+}
@@ -1,17 +1,113 @@
 package com.taskpilot.intellitask_backend.repository;
 
+import com.taskpilot.intellitask_backend.dto.response.PriorityStatusResponse;
+import com.taskpilot.intellitask_backend.dto.response.TodoItemDto;
+import com.taskpilot.intellitask_backend.entity.PriorityEngine;
 import com.taskpilot.intellitask_backend.entity.TodoItem;
+import com.taskpilot.intellitask_backend.service.ai.DueDateBucket;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface TodoItemRepository extends JpaRepository<TodoItem, Long> {
-    List<TodoItem> findByUserIdOrderByCreatedAtDesc(Long userId);
+    
+    // Read-only listings project straight into DTOs: no managed entities, snapshots or User proxies
+    String TODO_DTO = "SELECT new com.taskpilot.intellitask_backend.dto.response.TodoItemDto(" +
+                      "t.id, t.task, t.date, t.completed, t.aiPriority, COALESCE(t.aiPriorityPending, false), " +
+                      "t.aiPriorityEngine, t.createdAt, t.updatedAt) FROM TodoItem t ";
+    
+    @Query(TODO_DTO + "WHERE t.user.id = :userId ORDER BY t.createdAt DESC, t.id DESC")
+    List<TodoItemDto> findDtosByUserId(@Param("userId") Long userId);
+    
+    // Seek pagination over idx_todo_items_user_created; callers pass PageRequest.of(0, n) so no OFFSET is generated
+    @Query(TODO_DTO + "WHERE t.user.id = :userId ORDER BY t.createdAt DESC, t.id DESC")
+    List<TodoItemDto> findFirstPage(@Param("userId") Long userId, Pageable pageable);
+    
+    @Query(TODO_DTO + "WHERE t.user.id = :userId AND (t.createdAt < :createdAt " +
+           "OR (t.createdAt = :createdAt AND t.id < :id)) ORDER BY t.createdAt DESC, t.id DESC")
+    List<TodoItemDto> findPageAfter(@Param("userId") Long userId, @Param("createdAt") LocalDateTime createdAt,
+                                    @Param("id") Long id, Pageable pageable);
+    
+    @Query("SELECT new com.taskpilot.intellitask_backend.dto.response.PriorityStatusResponse(" +
+           "t.id, t.aiPriority, COALESCE(t.aiPriorityPending, false), t.aiPriorityEngine) " +
+           "FROM TodoItem t WHERE t.id = :id AND t.user.id = :userId")
+    Optional<PriorityStatusResponse> findPriorityStatus(@Param("id") Long id, @Param("userId") Long userId);
+    
     List<TodoItem> findByUserIdAndCompletedFalse(Long userId);
     Optional<TodoItem> findByIdAndUserId(Long id, Long userId);
     void deleteByIdAndUserId(Long id, Long userId);
     int countByUserIdAndCompletedFalse(Long userId);
+    long countByUserId(Long userId);
+    
+    // One chunk of a user's task ids for account deletion, read off the user_id index
+    @Query("SELECT t.id FROM TodoItem t WHERE t.user.id = :userId")
+    List<Long> findIdsByUserId(@Param("userId") Long userId, Pageable pageable);
+    
+    // Set-based bulk writes; the user predicate makes ids owned by someone else a no-op
+    @Transactional
+    @Modifying
+    @Query("UPDATE TodoItem t SET t.completed = :completed, t.updatedAt = :now " +
+           "WHERE t.user.id = :userId AND t.id IN :ids")
+    int updateCompleted(@Param("userId") Long userId, @Param("ids") Collection<Long> ids,
+                        @Param("completed") Boolean completed, @Param("now") LocalDateTime now);
+    
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM TodoItem t WHERE t.user.id = :userId AND t.id IN :ids")
+    int deleteByUserIdAndIds(@Param("userId") Long userId, @Param("ids") Collection<Long> ids);
+    
+    // Task text and due date never change after creation, so a score only goes stale when it
+    // was not a Gemini score, the prompt version moved on, or the due-date bucket rolled over
+    @Query("SELECT t FROM TodoItem t WHERE t.user.id = :userId AND t.completed = false AND (" +
+           "t.aiPromptVersion IS NULL OR t.aiPromptVersion <> :promptVersion " +
+           "OR t.aiPriorityEngine IS NULL OR t.aiPriorityEngine <> :engine " +
+           "OR t.aiPriorityExpiresOn <= :today)")
+    List<TodoItem> findStalePriorities(@Param("userId") Long userId, @Param("promptVersion") Integer promptVersion,
+                                       @Param("engine") PriorityEngine engine, @Param("today") LocalDate today);
+    
+    @Transactional
+    @Modifying
+    @Query("UPDATE TodoItem t SET t.aiPriority = :priority, t.aiPriorityEngine = :engine, " +
+           "t.aiPriorityPending = false, t.aiTextHash = :textHash, t.aiDueBucket = :dueBucket, " +
+           "t.aiPriorityExpiresOn = :expiresOn, t.aiPromptVersion = :promptVersion WHERE t.id = :id")
+    int updateAiPriority(@Param("id") Long id, @Param("priority") Integer priority,
+                         @Param("engine") PriorityEngine engine, @Param("textHash") String textHash,
+                         @Param("dueBucket") DueDateBucket dueBucket, @Param("expiresOn") LocalDate expiresOn,
+                         @Param("promptVersion") Integer promptVersion);
+    
+    @Transactional
+    @Modifying
+    @Query("UPDATE TodoItem t SET t.aiPriorityPending = false WHERE t.id = :id")
+    int clearAiPriorityPending(@Param("id") Long id);
+    
+    @Transactional
+    @Modifying
+    @Query("UPDATE TodoItem t SET t.aiPriorityPending = false WHERE t.user.id = :userId AND t.aiPriorityPending = true")
+    int clearAiPriorityPendingForUser(@Param("userId") Long userId);
+    
+    @Transactional
+    @Modifying
+    @Query("UPDATE TodoItem t SET t.aiPriorityPending = true WHERE t.user.id = :userId AND t.completed = false AND (" +
+           "t.aiPromptVersion IS NULL OR t.aiPromptVersion <> :promptVersion " +
+           "OR t.aiPriorityEngine IS NULL OR t.aiPriorityEngine <> :engine " +
+           "OR t.aiPriorityExpiresOn <= :today)")
+    int markStalePrioritiesPending(@Param("userId") Long userId, @Param("promptVersion") Integer promptVersion,
+                                   @Param("engine") PriorityEngine engine, @Param("today") LocalDate today);
+    
+    // Clearing the prompt version makes every open task stale for the next incremental run
+    @Transactional
+    @Modifying
+    @Query("UPDATE TodoItem t SET t.aiPromptVersion = NULL WHERE t.user.id = :userId AND t.completed = false")
+    int invalidatePriorities(@Param("userId") Long userId);
 }
@@ -1,13 +1,68 @@
 package com.taskpilot.intellitask_backend.repository;
 
 import com.taskpilot.intellitask_backend.entity.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
     boolean existsByEmail(String email);
+    
+    @Query("SELECT u.id FROM User u WHERE u.id > :afterId ORDER BY u.id")
+    List<Long> findIdsAfter(@Param("afterId") Long afterId, Pageable pageable);
+    
+    @Transactional
+    @Modifying
+    @Query("UPDATE User u SET u.password = :password WHERE u.id = :id")
+    int updatePassword(@Param("id") Long id, @Param("password") String password);
+    
+    @Query("SELECT u.tokenEpoch FROM User u WHERE u.id = :id")
+    Optional<Integer> findTokenEpoch(@Param("id") Long id);
+    
+    @Query("SELECT u.todoVersion FROM User u WHERE u.id = :id")
+    Optional<Long> findTodoVersion(@Param("id") Long id);
+    
+    @Transactional
+    @Modifying
+    @Query("UPDATE User u SET u.todoVersion = u.todoVersion + 1 WHERE u.id = :id")
+    int incrementTodoVersion(@Param("id") Long id);
+    
+    @Transactional
+    @Modifying
+    @Query("UPDATE User u SET u.deletionRequestedAt = :now, u.deletionLeaseUntil = :leaseUntil, " +
+           "u.tokenEpoch = u.tokenEpoch + 1 WHERE u.id = :id AND u.deletionRequestedAt IS NULL")
+    int markDeletionRequested(@Param("id") Long id, @Param("now") LocalDateTime now,
+                              @Param("leaseUntil") LocalDateTime leaseUntil);
+    
+    // Requested deletions no node is working on: never started, failed, or their node died
+    @Query("SELECT u.id FROM User u WHERE u.deletionRequestedAt IS NOT NULL " +
+           "AND (u.deletionLeaseUntil IS NULL OR u.deletionLeaseUntil < :now) ORDER BY u.deletionRequestedAt")
+    List<Long> findDeletionsToResume(@Param("now") LocalDateTime now, Pageable pageable);
+    
+    // A single conditional UPDATE, so of several nodes resuming the same account only one claims it
+    @Transactional
+    @Modifying
+    @Query("UPDATE User u SET u.deletionLeaseUntil = :until WHERE u.id = :id AND u.deletionRequestedAt IS NOT NULL " +
+           "AND (u.deletionLeaseUntil IS NULL OR u.deletionLeaseUntil < :now)")
+    int claimDeletion(@Param("id") Long id, @Param("now") LocalDateTime now, @Param("until") LocalDateTime until);
+    
+    @Transactional
+    @Modifying
+    @Query("UPDATE User u SET u.deletionLeaseUntil = :until WHERE u.id = :id")
+    int updateDeletionLease(@Param("id") Long id, @Param("until") LocalDateTime until);
+    
+    long countByDeletionRequestedAtNotNull();
+    
+    @Query("SELECT MIN(u.deletionRequestedAt) FROM User u WHERE u.deletionRequestedAt IS NOT NULL")
+    Optional<LocalDateTime> findOldestDeletionRequest();
 }
\ No newline at end of file
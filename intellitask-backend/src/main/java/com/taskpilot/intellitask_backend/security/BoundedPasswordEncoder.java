@@ -0,0 +1,88 @@
+package com.taskpilot.intellitask_backend.security;
+
+import com.taskpilot.intellitask_backend.exception.ServiceUnavailableException;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Runs hashing on a small dedicated pool, so a login or signup burst is capped at that pool's cores
+// and sheds with 503 once its queue is full instead of starving request threads
+public class BoundedPasswordEncoder implements PasswordEncoder {
+    
+    private final PasswordEncoder delegate;
+    private final ThreadPoolTaskExecutor executor;
+    private final Duration maxWait;
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong timedOut = new AtomicLong();
+    
+    public BoundedPasswordEncoder(PasswordEncoder delegate, ThreadPoolTaskExecutor executor, Duration maxWait) {
+        this.delegate = delegate;
+        this.executor = executor;
+        this.maxWait = maxWait;
+    }
+    
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return run(() -> delegate.encode(rawPassword));
+    }
+    
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+    
+    // Only inspects the stored hash's cost, so it stays on the caller
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+    
+    public Map<String, Object> stats() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("active", executor.getActiveCount());
+        result.put("queued", executor.getThreadPoolExecutor().getQueue().size());
+        result.put("rejected", rejected.get());
+        result.put("timedOut", timedOut.get());
+        return result;
+    }
+    
+    private <T> T run(Callable<T> hashing) {
+        Future<T> future;
+        try {
+            future = executor.submit(hashing);
+        } catch (TaskRejectedException e) {
+            rejected.incrementAndGet();
+            throw new ServiceUnavailableException("Too many sign-ins in progress, please try again shortly");
+        }
+        
+        try {
+            return future.get(maxWait.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // A hash still in the queue is dropped and its slot freed; one already running
+            // finishes and is discarded
+            future.cancel(false);
+            executor.getThreadPoolExecutor().purge();
+            timedOut.incrementAndGet();
+            throw new ServiceUnavailableException("Too many sign-ins in progress, please try again shortly");
+        } catch (InterruptedException e) {
+            future.cancel(false);
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException("Interrupted while waiting for password hashing");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+}
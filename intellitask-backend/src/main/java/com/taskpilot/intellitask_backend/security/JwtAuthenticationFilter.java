@@ -1,25 +1,39 @@
 package com.taskpilot.intellitask_backend.security;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 @Component
-@RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
     
     private final JwtUtil jwtUtil;
-    private final UserDetailsServiceImpl userDetailsService;
+    private final TokenEpochCache tokenEpochCache;
+    private final Timer validTokenTimer;
+    private final Timer invalidTokenTimer;
+    
+    public JwtAuthenticationFilter(JwtUtil jwtUtil,
+                                   TokenEpochCache tokenEpochCache,
+                                   MeterRegistry meterRegistry) {
+        this.jwtUtil = jwtUtil;
+        this.tokenEpochCache = tokenEpochCache;
+        this.validTokenTimer = validationTimer(meterRegistry, "valid");
+        this.invalidTokenTimer = validationTimer(meterRegistry, "invalid");
+    }
     
     @Override
     protected void doFilterInternal(HttpServletRequest request, 
@@ -29,30 +43,39 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         final String authorizationHeader = request.getHeader("Authorization");
         
         String jwt = null;
-        String userId = null;
+        VerifiedToken token = null;
+        boolean valid = false;
         
         if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
             jwt = authorizationHeader.substring(7);
-            try {
-                userId = jwtUtil.extractUserId(jwt);
-            } catch (Exception e) {
-                // Invalid token, will be handled by Spring Security
-            }
+            long startNanos = System.nanoTime();
+            // Invalid or revoked tokens leave the request unauthenticated, to be handled by Spring Security
+            token = jwtUtil.verify(jwt);
+            valid = token != null && tokenEpochCache.isCurrent(Long.parseLong(token.userId()), token.epoch());
+            Timer timer = valid ? validTokenTimer : invalidTokenTimer;
+            timer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
         }
         
-        if (userId != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            if (jwtUtil.validateToken(jwt)) {
-                UserDetails userDetails = userDetailsService.loadUserById(Long.parseLong(userId));
-                
-                UsernamePasswordAuthenticationToken authToken = 
-                        new UsernamePasswordAuthenticationToken(
-                                userDetails, null, userDetails.getAuthorities());
-                
-                authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                SecurityContextHolder.getContext().setAuthentication(authToken);
-            }
+        if (valid && SecurityContextHolder.getContext().getAuthentication() == null) {
+            // The principal only ever carries the user id, so it is built from the verified claims
+            // rather than loaded from the users table
+            UserDetails userDetails = new User(token.userId(), "", List.of());
+            
+            UsernamePasswordAuthenticationToken authToken = 
+                    new UsernamePasswordAuthenticationToken(
+                            userDetails, null, userDetails.getAuthorities());
+            
+            authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+            SecurityContextHolder.getContext().setAuthentication(authToken);
         }
         
         filterChain.doFilter(request, response);
     }
+    
+    private static Timer validationTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder("auth.jwt.validation")
+                .description("Time spent parsing and verifying a bearer token")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
 }
\ No newline at end of file
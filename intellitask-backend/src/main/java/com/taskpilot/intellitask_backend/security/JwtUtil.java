@@ -1,81 +1,116 @@
 package com.taskpilot.intellitask_backend.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Date;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
-import java.util.function.Function;
 
 @Component
 public class JwtUtil {
     
-    @Value("${jwt.secret}")
-    private String secret;
+    private final SecretKey signingKey;
+    private final JwtParser parser;
+    private final long expiration;
+    private final Cache<String, VerifiedToken> verifiedTokens;
     
-    @Value("${jwt.expiration}")
-    private Long expiration;
-    
-    private SecretKey getSigningKey() {
-        byte[] keyBytes = secret.getBytes(StandardCharsets.UTF_8);
-        return Keys.hmacShaKeyFor(keyBytes);
-    }
-    
-    public String generateToken(String userId) {
-        Map<String, Object> claims = new HashMap<>();
-        claims.put("userId", userId);
-        return createToken(claims, userId);
+    public JwtUtil(@Value("${jwt.secret}") String secret,
+                   @Value("${jwt.expiration}") long expiration,
+                   @Value("${jwt.cache.max-size:10000}") long cacheMaxSize) {
+        // Key and parser are immutable and thread-safe, so both are built once instead of per token
+        this.signingKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parser().verifyWith(signingKey).build();
+        this.expiration = expiration;
+        // Entries expire with the token itself, so a cached token is never accepted past its exp;
+        // a max size of 0 turns the cache off
+        this.verifiedTokens = cacheMaxSize > 0
+                ? Caffeine.newBuilder()
+                        .maximumSize(cacheMaxSize)
+                        .expireAfter(new ExpireAtTokenExpiry())
+                        .recordStats()
+                        .<String, VerifiedToken>build()
+                : null;
     }
     
-    private String createToken(Map<String, Object> claims, String subject) {
+    public String generateToken(String userId, int epoch) {
+        long now = System.currentTimeMillis();
         return Jwts.builder()
-                .setClaims(claims)
-                .setSubject(subject)
-                .setIssuedAt(new Date(System.currentTimeMillis()))
-                .setExpiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .claim("userId", userId)
+                .claim("epoch", epoch)
+                .subject(userId)
+                .issuedAt(new Date(now))
+                .expiration(new Date(now + expiration))
+                .signWith(signingKey, Jwts.SIG.HS256)
                 .compact();
     }
     
-    public Boolean validateToken(String token) {
+    // Verifies signature and expiry in a single parse; returns the token's claims, or null for any
+    // invalid, expired or malformed token
+    public VerifiedToken verify(String token) {
+        VerifiedToken cached = verifiedTokens != null ? verifiedTokens.getIfPresent(token) : null;
+        if (cached != null) {
+            return cached;
+        }
+        
+        Claims claims;
         try {
-            final String userId = extractUserId(token);
-            return userId != null && !isTokenExpired(token);
-        } catch (Exception e) {
-            return false;
+            claims = parser.parseSignedClaims(token).getPayload();
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
         }
+        String userId = claims.get("userId", String.class);
+        Date expiresAt = claims.getExpiration();
+        if (userId == null || expiresAt == null) {
+            return null;
+        }
+        // Tokens issued before epochs existed belong to the initial epoch
+        Integer epoch = claims.get("epoch", Integer.class);
+        VerifiedToken verified = new VerifiedToken(userId, epoch != null ? epoch : 0, expiresAt.toInstant());
+        if (verifiedTokens != null) {
+            verifiedTokens.put(token, verified);
+        }
+        return verified;
     }
     
-    public String extractUserId(String token) {
-        Claims claims = extractAllClaims(token);
-        return claims.get("userId", String.class);
-    }
-    
-    public Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
-    }
-    
-    public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
-        return claimsResolver.apply(claims);
-    }
-    
-    private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    public Map<String, Object> stats() {
+        CacheStats stats = verifiedTokens != null ? verifiedTokens.stats() : CacheStats.empty();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("size", verifiedTokens != null ? verifiedTokens.estimatedSize() : 0L);
+        result.put("hits", stats.hitCount());
+        result.put("misses", stats.missCount());
+        result.put("evictions", stats.evictionCount());
+        return result;
     }
     
-    public Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    private static final class ExpireAtTokenExpiry implements Expiry<String, VerifiedToken> {
+        
+        @Override
+        public long expireAfterCreate(String token, VerifiedToken verified, long currentTime) {
+            return Math.max(0, Duration.between(Instant.now(), verified.expiresAt()).toNanos());
+        }
+        
+        @Override
+        public long expireAfterUpdate(String token, VerifiedToken verified, long currentTime, long currentDuration) {
+            return expireAfterCreate(token, verified, currentTime);
+        }
+        
+        @Override
+        public long expireAfterRead(String token, VerifiedToken verified, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
     }
-}
\ No newline at end of file
+}
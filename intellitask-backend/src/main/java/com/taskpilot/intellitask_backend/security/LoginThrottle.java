@@ -0,0 +1,85 @@
+package com.taskpilot.intellitask_backend.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.taskpilot.intellitask_backend.exception.TooManyRequestsException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Fixed-window attempt counters checked before any password hashing: failed logins per email
+// (cleared by a successful login) and all login/signup attempts per client IP
+@Component
+public class LoginThrottle {
+    
+    private final Cache<String, Window> failuresByEmail;
+    private final Cache<String, Window> attemptsByIp;
+    private final Duration window;
+    private final int maxFailuresPerEmail;
+    private final int maxAttemptsPerIp;
+    private final AtomicLong throttled = new AtomicLong();
+    
+    public LoginThrottle(@Value("${auth.throttle.window:PT15M}") Duration window,
+                         @Value("${auth.throttle.max-failures-per-email:10}") int maxFailuresPerEmail,
+                         @Value("${auth.throttle.max-attempts-per-ip:100}") int maxAttemptsPerIp,
+                         @Value("${auth.throttle.max-keys:100000}") long maxKeys) {
+        this.window = window;
+        this.maxFailuresPerEmail = maxFailuresPerEmail;
+        this.maxAttemptsPerIp = maxAttemptsPerIp;
+        // Entries are only written when created, so each one lives exactly one window
+        this.failuresByEmail = Caffeine.newBuilder().maximumSize(maxKeys).expireAfterWrite(window).build();
+        this.attemptsByIp = Caffeine.newBuilder().maximumSize(maxKeys).expireAfterWrite(window).build();
+    }
+    
+    public void acquireLogin(String email, String clientIp) {
+        Window failures = failuresByEmail.getIfPresent(email);
+        if (failures != null && failures.count().get() >= maxFailuresPerEmail) {
+            reject("Too many failed sign-in attempts for this account, please try again later", failures);
+        }
+        acquire(clientIp);
+    }
+    
+    public void acquireSignup(String clientIp) {
+        acquire(clientIp);
+    }
+    
+    public void recordFailure(String email) {
+        window(failuresByEmail, email).count().incrementAndGet();
+    }
+    
+    public void recordSuccess(String email) {
+        failuresByEmail.invalidate(email);
+    }
+    
+    public Map<String, Object> stats() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("trackedEmails", failuresByEmail.estimatedSize());
+        result.put("trackedIps", attemptsByIp.estimatedSize());
+        result.put("throttled", throttled.get());
+        return result;
+    }
+    
+    private void acquire(String clientIp) {
+        Window attempts = window(attemptsByIp, clientIp);
+        if (attempts.count().incrementAndGet() > maxAttemptsPerIp) {
+            reject("Too many sign-in attempts, please try again later", attempts);
+        }
+    }
+    
+    private Window window(Cache<String, Window> counters, String key) {
+        return counters.get(key, k -> new Window(new AtomicInteger(), System.nanoTime() + window.toNanos()));
+    }
+    
+    private void reject(String message, Window window) {
+        throttled.incrementAndGet();
+        throw new TooManyRequestsException(message, Duration.ofNanos(Math.max(0, window.endNanos() - System.nanoTime())));
+    }
+    
+    private record Window(AtomicInteger count, long endNanos) {
+    }
+}
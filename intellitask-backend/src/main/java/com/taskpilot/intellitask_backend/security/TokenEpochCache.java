@@ -0,0 +1,50 @@
+package com.taskpilot.intellitask_backend.security;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.taskpilot.intellitask_backend.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Component
+public class TokenEpochCache {
+    
+    // Deleted users have no epoch, so no token can match
+    private static final int REVOKED = -1;
+    
+    private final LoadingCache<Long, Integer> epochs;
+    
+    // The ttl bounds how long a revocation made on another node takes to reach this one;
+    // revocations made here are seen at once through invalidate
+    public TokenEpochCache(UserRepository userRepository,
+                           @Value("${auth.token-epoch.cache.max-size:100000}") long maxSize,
+                           @Value("${auth.token-epoch.cache.ttl:PT1M}") Duration ttl) {
+        this.epochs = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build(userId -> userRepository.findTokenEpoch(userId).orElse(REVOKED));
+    }
+    
+    public boolean isCurrent(Long userId, int tokenEpoch) {
+        return epochs.get(userId) == tokenEpoch;
+    }
+    
+    public void invalidate(Long userId) {
+        epochs.invalidate(userId);
+    }
+    
+    public Map<String, Object> stats() {
+        CacheStats stats = epochs.stats();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("size", epochs.estimatedSize());
+        result.put("hits", stats.hitCount());
+        result.put("misses", stats.missCount());
+        return result;
+    }
+}
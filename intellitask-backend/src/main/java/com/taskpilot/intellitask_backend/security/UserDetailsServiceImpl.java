@@ -27,15 +27,4 @@ public class UserDetailsServiceImpl implements UserDetailsService {
                 new ArrayList<>()
         );
     }
-    
-    public UserDetails loadUserById(Long userId) throws UsernameNotFoundException {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found with id: " + userId));
-        
-        return new org.springframework.security.core.userdetails.User(
-                user.getId().toString(),
-                user.getPassword(),
-                new ArrayList<>()
-        );
-    }
-}
\ No newline at end of file
+}
@@ -0,0 +1,49 @@
+package com.taskpilot.intellitask_backend.security;
+
+import com.taskpilot.intellitask_backend.exception.TooManyRequestsException;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+
+import java.io.IOException;
+import java.time.Duration;
+
+// Runs after JwtAuthenticationFilter, so only authenticated requests are counted against a user
+@Component
+public class UserRateLimitFilter extends OncePerRequestFilter {
+    
+    private final UserRateLimiter userRateLimiter;
+    private final HandlerExceptionResolver handlerExceptionResolver;
+    
+    public UserRateLimitFilter(UserRateLimiter userRateLimiter,
+                               @Qualifier("handlerExceptionResolver") HandlerExceptionResolver handlerExceptionResolver) {
+        this.userRateLimiter = userRateLimiter;
+        this.handlerExceptionResolver = handlerExceptionResolver;
+    }
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        UserRateLimiter.RouteGroup group = UserRateLimiter.RouteGroup.of(request.getMethod(), request.getRequestURI());
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (group != null && authentication != null && authentication.getPrincipal() instanceof UserDetails user) {
+            Duration retryAfter = userRateLimiter.tryAcquire(Long.parseLong(user.getUsername()), group);
+            if (!retryAfter.isZero()) {
+                // Rendered by GlobalExceptionHandler like any other 429
+                handlerExceptionResolver.resolveException(request, response, null,
+                        new TooManyRequestsException("Rate limit exceeded, please slow down", retryAfter));
+                return;
+            }
+        }
+        filterChain.doFilter(request, response);
+    }
+}
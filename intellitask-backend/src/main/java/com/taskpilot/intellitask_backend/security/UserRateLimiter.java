@@ -0,0 +1,135 @@
+package com.taskpilot.intellitask_backend.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+// One token bucket per user and route group. Buckets live in a Caffeine map per group and are
+// updated with compute, which locks only the key's hash bin, so users never contend with each
+// other. A bucket idle long enough to refill completely is indistinguishable from a new one and
+// is evicted, which keeps memory proportional to recently active users (capped at max-users).
+// A request may cost more than one token; one costing more than the capacity needs a full bucket
+// and leaves it in debt, so a large bulk import is paid back at the refill rate.
+@Component
+public class UserRateLimiter {
+    
+    public enum RouteGroup {
+        AI_SUMMARY,
+        AI_PRIORITIES,
+        TODO_WRITES;
+        
+        // Task creation counts too: every new task queues a Gemini scoring job. POST /api/todo/bulk
+        // is left to TodoController, which charges TODO_WRITES per CREATE once it has read the body
+        public static RouteGroup of(String method, String path) {
+            return switch (path) {
+                case "/api/todo/ai/daily-summary", "/api/todo/ai/daily-summary/stream" ->
+                        "GET".equals(method) ? AI_SUMMARY : null;
+                case "/api/todo/ai/update-priorities" -> "POST".equals(method) ? AI_PRIORITIES : null;
+                case "/api/todo" -> "POST".equals(method) ? TODO_WRITES : null;
+                default -> null;
+            };
+        }
+    }
+    
+    private final boolean enabled;
+    private final Map<RouteGroup, Limit> limits = new EnumMap<>(RouteGroup.class);
+    private final Map<RouteGroup, Cache<Long, Bucket>> buckets = new EnumMap<>(RouteGroup.class);
+    private final Map<RouteGroup, Counter> rejected = new EnumMap<>(RouteGroup.class);
+    
+    public UserRateLimiter(@Value("${ratelimit.enabled:true}") boolean enabled,
+                           @Value("${ratelimit.max-users:1000000}") long maxUsers,
+                           @Value("${ratelimit.ai-summary.capacity:10}") double summaryCapacity,
+                           @Value("${ratelimit.ai-summary.refill-per-minute:6}") double summaryRefill,
+                           @Value("${ratelimit.ai-priorities.capacity:3}") double prioritiesCapacity,
+                           @Value("${ratelimit.ai-priorities.refill-per-minute:1}") double prioritiesRefill,
+                           @Value("${ratelimit.todo-writes.capacity:60}") double todoWritesCapacity,
+                           @Value("${ratelimit.todo-writes.refill-per-minute:120}") double todoWritesRefill,
+                           MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        limits.put(RouteGroup.AI_SUMMARY, new Limit(summaryCapacity, summaryRefill));
+        limits.put(RouteGroup.AI_PRIORITIES, new Limit(prioritiesCapacity, prioritiesRefill));
+        limits.put(RouteGroup.TODO_WRITES, new Limit(todoWritesCapacity, todoWritesRefill));
+        
+        limits.forEach((group, limit) -> {
+            Cache<Long, Bucket> cache = Caffeine.newBuilder()
+                    .maximumSize(maxUsers)
+                    .expireAfter(new UntilFull(limit))
+                    .build();
+            buckets.put(group, cache);
+            String tag = group.name().toLowerCase().replace('_', '-');
+            rejected.put(group, Counter.builder("ratelimit.rejected").tag("group", tag).register(meterRegistry));
+            Gauge.builder("ratelimit.buckets", cache, Cache::estimatedSize).tag("group", tag).register(meterRegistry);
+        });
+    }
+    
+    // Takes a token if one is available; otherwise returns how long until the next one is
+    public Duration tryAcquire(Long userId, RouteGroup group) {
+        return tryAcquire(userId, group, 1);
+    }
+    
+    // Takes cost tokens if that many are available, or the bucket is full; otherwise returns how
+    // long until they are
+    public Duration tryAcquire(Long userId, RouteGroup group, int cost) {
+        Limit limit = limits.get(group);
+        if (!enabled || limit.capacity() <= 0) {
+            return Duration.ZERO;
+        }
+        
+        long now = System.nanoTime();
+        long[] waitNanos = {0};
+        buckets.get(group).asMap().compute(userId, (id, bucket) -> {
+            double tokens = bucket == null
+                    ? limit.capacity()
+                    : Math.min(limit.capacity(), bucket.tokens() + (now - bucket.refilledAtNanos()) * limit.tokensPerNano());
+            double needed = Math.min(cost, limit.capacity());
+            if (tokens >= needed) {
+                return new Bucket(tokens - cost, now);
+            }
+            waitNanos[0] = (long) Math.ceil((needed - tokens) / limit.tokensPerNano());
+            return new Bucket(tokens, now);
+        });
+        
+        if (waitNanos[0] > 0) {
+            rejected.get(group).increment();
+        }
+        return Duration.ofNanos(waitNanos[0]);
+    }
+    
+    private record Bucket(double tokens, long refilledAtNanos) {
+    }
+    
+    private record Limit(double capacity, double refillPerMinute) {
+        
+        double tokensPerNano() {
+            return refillPerMinute / Duration.ofMinutes(1).toNanos();
+        }
+    }
+    
+    // Every access goes through compute, so a bucket is always written with its tokens as of now
+    private record UntilFull(Limit limit) implements Expiry<Long, Bucket> {
+        
+        @Override
+        public long expireAfterCreate(Long userId, Bucket bucket, long currentTime) {
+            return (long) Math.ceil(Math.max(limit.capacity() - bucket.tokens(), 1) / limit.tokensPerNano());
+        }
+        
+        @Override
+        public long expireAfterUpdate(Long userId, Bucket bucket, long currentTime, long currentDuration) {
+            return expireAfterCreate(userId, bucket, currentTime);
+        }
+        
+        @Override
+        public long expireAfterRead(Long userId, Bucket bucket, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
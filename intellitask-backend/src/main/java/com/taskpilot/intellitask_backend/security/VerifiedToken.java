@@ -0,0 +1,6 @@
+package com.taskpilot.intellitask_backend.security;
+
+import java.time.Instant;
+
+public record VerifiedToken(String userId, int epoch, Instant expiresAt) {
+}
@@ -2,95 +2,283 @@ package com.taskpilot.intellitask_backend.service;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.taskpilot.intellitask_backend.dto.response.UpdatePrioritiesResponse;
+import com.taskpilot.intellitask_backend.entity.PriorityEngine;
 import com.taskpilot.intellitask_backend.entity.TodoItem;
+import com.taskpilot.intellitask_backend.exception.ServiceUnavailableException;
 import com.taskpilot.intellitask_backend.repository.TodoItemRepository;
+import com.taskpilot.intellitask_backend.service.ai.GeminiCircuitBreaker;
+import com.taskpilot.intellitask_backend.service.ai.GeminiClient;
+import com.taskpilot.intellitask_backend.service.ai.GeminiRateLimiter;
+import com.taskpilot.intellitask_backend.service.ai.HeuristicPriorityEngine;
+import com.taskpilot.intellitask_backend.service.ai.InFlightRequestCoalescer;
+import com.taskpilot.intellitask_backend.service.ai.PriorityCache;
+import com.taskpilot.intellitask_backend.service.ai.PriorityScore;
+import com.taskpilot.intellitask_backend.service.ai.ScoringFingerprint;
+import com.taskpilot.intellitask_backend.service.ai.SummaryStreamLimiter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class AIService {
     
+    public static final String FALLBACK_SUMMARY = "You have tasks to complete today. Stay focused and tackle them one by one!";
+    
+    private static final int SUMMARY_MAX_LENGTH = 500;
+    
     private final TodoItemRepository todoItemRepository;
-    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final TransactionTemplate transactionTemplate;
+    private final PriorityCache priorityCache;
+    private final TodoVersionTracker todoVersionTracker;
+    private final GeminiRateLimiter geminiRateLimiter;
+    private final GeminiCircuitBreaker geminiCircuitBreaker;
+    private final HeuristicPriorityEngine heuristicPriorityEngine;
+    private final InFlightRequestCoalescer inFlightRequestCoalescer;
+    private final GeminiClient geminiClient;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
     
-    @Value("${gemini.api.key}")
-    private String geminiApiKey;
+    @Value("${ai.priority.batch.enabled:true}")
+    private boolean batchScoringEnabled;
     
-    @Value("${gemini.api.url}")
-    private String geminiApiUrl;
+    @Value("${ai.priority.batch.size:20}")
+    private int batchSize;
     
-    private final WebClient webClient = WebClient.builder().build();
+    @Value("${ai.priority.batch.concurrency:4}")
+    private int batchConcurrency;
     
-    public Integer generateTaskPriority(String task, LocalDate dueDate) {
+    @Value("${ai.priority.prompt-version:1}")
+    private int promptVersion;
+    
+    public PriorityScore generateTaskPriority(String task, LocalDate dueDate) {
+        Integer cached = priorityCache.get(task, dueDate);
+        if (cached != null) {
+            return new PriorityScore(cached, PriorityEngine.GEMINI);
+        }
+        
         try {
             String prompt = buildPriorityPrompt(task, dueDate);
             String response = callGeminiApi(prompt);
-            return parsePriorityResponse(response);
+            Integer priority = parsePriorityResponse(response);
+            priorityCache.put(task, dueDate, priority);
+            return new PriorityScore(priority, PriorityEngine.GEMINI);
+        } catch (ServiceUnavailableException e) {
+            log.debug("Gemini unavailable ({}), scoring task heuristically", e.getMessage());
+            countFallbacks("single", "unavailable", 1);
         } catch (Exception e) {
             log.error("Error generating task priority: ", e);
-            return 3; // Default to medium priority
+            countFallbacks("single", "error", 1);
         }
+        return heuristicPriorityEngine.score(task, dueDate);
     }
     
     public String generateDailySummary(List<TodoItem> tasks) {
         try {
-            if (tasks.isEmpty()) {
-                return "No tasks for today. It's a great day to plan ahead!";
-            }
-            
-            String prompt = buildDailySummaryPrompt(tasks);
-            String response = callGeminiApi(prompt);
-            return parseSummaryResponse(response);
+            return requestDailySummary(tasks);
         } catch (Exception e) {
             log.error("Error generating daily summary: ", e);
-            return "You have tasks to complete today. Stay focused and tackle them one by one!";
+            return FALLBACK_SUMMARY;
         }
     }
     
-    @Transactional
-    public UpdatePrioritiesResponse updateAllPriorities(Long userId) {
-        List<TodoItem> incompleteTasks = todoItemRepository.findByUserIdAndCompletedFalse(userId);
+    public String requestDailySummary(List<TodoItem> tasks) {
+        return requestDailySummaryAsync(tasks).block();
+    }
+    
+    public Mono<String> requestDailySummaryAsync(List<TodoItem> tasks) {
+        if (tasks.isEmpty()) {
+            return Mono.just("No tasks for today. It's a great day to plan ahead!");
+        }
         
-        if (incompleteTasks.isEmpty()) {
-            return new UpdatePrioritiesResponse("No incomplete tasks to update", 0);
+        String prompt = buildDailySummaryPrompt(tasks);
+        return callGeminiApiAsync(prompt).map(this::parseSummaryResponse);
+    }
+    
+    public Flux<String> streamDailySummary(List<TodoItem> tasks) {
+        String prompt = buildDailySummaryPrompt(tasks);
+        SummaryStreamLimiter limiter = new SummaryStreamLimiter(SUMMARY_MAX_LENGTH);
+        return streamGeminiApi(prompt)
+            .map(limiter::accept)
+            // Stop pulling from Gemini once the cap is reached
+            .takeUntil(chunk -> limiter.isTruncated())
+            .concatWith(Mono.fromCallable(limiter::finish))
+            .filter(chunk -> !chunk.isEmpty());
+    }
+    
+    public ScoringFingerprint fingerprint(String task, LocalDate dueDate) {
+        return ScoringFingerprint.of(task, dueDate, LocalDate.now(), promptVersion);
+    }
+    
+    public List<TodoItem> findStalePriorities(Long userId) {
+        return todoItemRepository.findStalePriorities(userId, promptVersion, PriorityEngine.GEMINI, LocalDate.now());
+    }
+    
+    public int markStalePrioritiesPending(Long userId) {
+        return todoItemRepository.markStalePrioritiesPending(userId, promptVersion, PriorityEngine.GEMINI, LocalDate.now());
+    }
+    
+    public Mono<Integer> rescorePriorities(Long userId, List<TodoItem> tasks) {
+        return batchScoringEnabled
+            ? updatePrioritiesInBatches(userId, tasks)
+            : Mono.fromCallable(() -> updatePrioritiesOneByOne(userId, tasks))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+    
+    public int estimateGeminiCalls(int taskCount) {
+        if (!batchScoringEnabled) {
+            return taskCount;
+        }
+        int size = Math.max(1, batchSize);
+        return (taskCount + size - 1) / size;
+    }
+    
+    public int maxTasksForGeminiCalls(int calls) {
+        return batchScoringEnabled ? calls * Math.max(1, batchSize) : calls;
+    }
+    
+    private Mono<Integer> updatePrioritiesInBatches(Long userId, List<TodoItem> tasks) {
+        Map<Long, PriorityScore> priorities = new HashMap<>();
+        List<TodoItem> uncached = new ArrayList<>();
+        for (TodoItem task : tasks) {
+            Integer cached = priorityCache.get(task.getTask(), task.getDate());
+            if (cached != null) {
+                priorities.put(task.getId(), new PriorityScore(cached, PriorityEngine.GEMINI));
+            } else {
+                uncached.add(task);
+            }
         }
         
+        List<List<TodoItem>> batches = new ArrayList<>();
+        int size = Math.max(1, batchSize);
+        for (int from = 0; from < uncached.size(); from += size) {
+            batches.add(uncached.subList(from, Math.min(from + size, uncached.size())));
+        }
+        
+        return Flux.fromIterable(batches)
+            .flatMap(batch -> scoreBatch(batch)
+                .map(scored -> mergeBatchScores(userId, batch, scored, priorities)), Math.max(1, batchConcurrency))
+            // Gemini responses complete on Netty event-loop threads; the JPA write must not
+            .publishOn(Schedulers.boundedElastic())
+            .then(Mono.fromCallable(() -> applyPriorities(userId, priorities)));
+    }
+    
+    private int mergeBatchScores(Long userId, List<TodoItem> batch, Map<Long, Integer> scored,
+                                 Map<Long, PriorityScore> priorities) {
+        synchronized (priorities) {
+            int missing = 0;
+            for (TodoItem task : batch) {
+                Integer priority = scored.get(task.getId());
+                if (priority != null) {
+                    priorityCache.put(task.getTask(), task.getDate(), priority);
+                    priorities.put(task.getId(), new PriorityScore(priority, PriorityEngine.GEMINI));
+                } else {
+                    // Only this task falls back; the rest of the batch keeps its Gemini scores
+                    priorities.put(task.getId(), heuristicPriorityEngine.score(task.getTask(), task.getDate()));
+                    missing++;
+                }
+            }
+            // An empty map means the whole batch failed and was already counted in scoreBatch
+            if (missing > 0 && !scored.isEmpty()) {
+                countFallbacks("batch", "missing", missing);
+            }
+            if (missing > 0) {
+                log.warn("Batch scoring fell back to heuristics for {} of {} tasks for user {}",
+                    missing, batch.size(), userId);
+            }
+            return missing;
+        }
+    }
+    
+    private int updatePrioritiesOneByOne(Long userId, List<TodoItem> tasks) {
         int updatedCount = 0;
-        for (TodoItem task : incompleteTasks) {
+        for (TodoItem task : tasks) {
             try {
-                Integer priority = generateTaskPriority(task.getTask(), task.getDate());
-                task.setAiPriority(priority);
+                PriorityScore priority = generateTaskPriority(task.getTask(), task.getDate());
+                applyScore(task, priority);
                 todoItemRepository.save(task);
                 updatedCount++;
                 log.debug("Updated priority for task: {} -> Priority: {}", task.getTask(), priority);
-                
-                // Add small delay to avoid rate limiting
-                Thread.sleep(100);
             } catch (Exception e) {
                 log.error("Error updating priority for task: {}", task.getTask(), e);
             }
         }
-        
-        return new UpdatePrioritiesResponse(
-            String.format("Successfully updated priorities for %d tasks", updatedCount),
-            updatedCount
-        );
+        if (updatedCount > 0) {
+            todoVersionTracker.bump(userId);
+        }
+        return updatedCount;
+    }
+    
+    private Mono<Map<Long, Integer>> scoreBatch(List<TodoItem> batch) {
+        Set<Long> batchIds = batch.stream().map(TodoItem::getId).collect(Collectors.toSet());
+        return Mono.fromCallable(() -> buildBatchPriorityPrompt(batch))
+            .flatMap(this::callGeminiApiAsync)
+            .map(response -> parseBatchPriorityResponse(response, batchIds))
+            .onErrorResume(ServiceUnavailableException.class, e -> {
+                log.debug("Gemini unavailable ({}), scoring batch of {} tasks heuristically", e.getMessage(), batch.size());
+                countFallbacks("batch", "unavailable", batch.size());
+                return Mono.just(Map.of());
+            })
+            .onErrorResume(e -> {
+                log.error("Error scoring batch of {} tasks: ", batch.size(), e);
+                countFallbacks("batch", "error", batch.size());
+                return Mono.just(Map.of());
+            });
+    }
+    
+    private int applyPriorities(Long userId, Map<Long, PriorityScore> priorities) {
+        if (priorities.isEmpty()) {
+            return 0;
+        }
+        // One short transaction; Hibernate flushes the dirty rows as a single JDBC batch
+        Integer updated = transactionTemplate.execute(status -> {
+            Map<Long, TodoItem> scored = new HashMap<>();
+            todoVersionTracker.bump(userId, TodoListCache.refreshing(scored));
+            for (TodoItem task : todoItemRepository.findAllById(priorities.keySet())) {
+                if (!task.getUser().getId().equals(userId)) {
+                    continue;
+                }
+                applyScore(task, priorities.get(task.getId()));
+                scored.put(task.getId(), task);
+            }
+            return scored.size();
+        });
+        return updated != null ? updated : 0;
+    }
+    
+    private void applyScore(TodoItem task, PriorityScore priority) {
+        ScoringFingerprint fingerprint = fingerprint(task.getTask(), task.getDate());
+        task.setAiPriority(priority.priority());
+        task.setAiPriorityEngine(priority.engine());
+        task.setAiPriorityPending(false);
+        task.setAiTextHash(fingerprint.textHash());
+        task.setAiDueBucket(fingerprint.dueBucket());
+        task.setAiPriorityExpiresOn(fingerprint.expiresOn());
+        task.setAiPromptVersion(fingerprint.promptVersion());
     }
     
     private String buildPriorityPrompt(String task, LocalDate dueDate) {
@@ -116,6 +304,41 @@ public class AIService {
         );
     }
     
+    private String buildBatchPriorityPrompt(List<TodoItem> tasks) throws Exception {
+        List<Map<String, Object>> taskEntries = new ArrayList<>();
+        for (TodoItem task : tasks) {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("id", task.getId());
+            entry.put("task", task.getTask());
+            entry.put("dueDate", task.getDate() != null ?
+                task.getDate().format(DateTimeFormatter.ISO_LOCAL_DATE) : "No due date");
+            taskEntries.add(entry);
+        }
+        
+        return String.format("""
+            You are an expert productivity assistant. Analyze each of the following tasks and assign each a priority score from 1-5.
+            
+            Tasks (JSON):
+            %s
+            
+            Today's Date: %s
+            
+            Consider:
+            - How soon the due date is (the closer, the higher the priority)
+            - If the task sounds urgent, important, or time-sensitive
+            - If the task has keywords like urgent, ASAP, deadline, important, critical, etc.
+            - If the task is routine or can be delayed, assign a lower priority
+            
+            Respond with ONLY a JSON array containing one object per task, for example:
+            [{"id": 12, "priority": 4}, {"id": 15, "priority": 2}]
+            Use the exact ids given above. No explanations, no markdown.
+            1 = Minimal, 2 = Low, 3 = Medium, 4 = High, 5 = Critical
+            """,
+            objectMapper.writeValueAsString(taskEntries),
+            LocalDate.now().format(DateTimeFormatter.ISO_LOCAL_DATE)
+        );
+    }
+    
     private String buildDailySummaryPrompt(List<TodoItem> tasks) {
         StringBuilder taskList = new StringBuilder();
         tasks.stream()
@@ -160,49 +383,194 @@ public class AIService {
     
     private String callGeminiApi(String prompt) {
         try {
-            Map<String, Object> requestBody = new HashMap<>();
-            Map<String, Object> content = new HashMap<>();
-            Map<String, Object> part = new HashMap<>();
-            
-            part.put("text", prompt);
-            content.put("parts", List.of(part));
-            requestBody.put("contents", List.of(content));
-            
-            String responseBody = webClient.post()
-                .uri(geminiApiUrl + "?key=" + geminiApiKey)
-                .contentType(MediaType.APPLICATION_JSON)
-                .body(Mono.just(requestBody), Map.class)
-                .retrieve()
-                .bodyToMono(String.class)
-                .block();
-            
-            JsonNode jsonNode = objectMapper.readTree(responseBody);
-            return jsonNode.path("candidates").get(0)
-                .path("content").path("parts").get(0)
-                .path("text").asText();
-                
+            return callGeminiApiAsync(prompt).block();
+        } catch (ServiceUnavailableException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Error calling Gemini API: ", e);
             throw new RuntimeException("Failed to call Gemini API", e);
         }
     }
     
+    private Mono<String> callGeminiApiAsync(String prompt) {
+        // Identical prompts already in flight share one upstream call, ahead of any permit
+        return inFlightRequestCoalescer.execute(prompt, () -> Mono.defer(() -> {
+            // Fail fast while the circuit is open instead of queueing behind a dead upstream
+            GeminiCircuitBreaker.Call call = geminiCircuitBreaker.tryAcquire();
+            if (call == null) {
+                return Mono.error(new ServiceUnavailableException("AI service is temporarily unavailable"));
+            }
+            return Mono.fromFuture(geminiRateLimiter.acquire())
+                .doOnError(e -> call.onNotExecuted())
+                .doOnCancel(call::onNotExecuted)
+                .flatMap(permit -> executeGeminiCall(prompt, permit, call));
+        }));
+    }
+    
+    private Flux<String> streamGeminiApi(String prompt) {
+        return Flux.defer(() -> {
+            GeminiCircuitBreaker.Call call = geminiCircuitBreaker.tryAcquire();
+            if (call == null) {
+                return Flux.error(new ServiceUnavailableException("AI service is temporarily unavailable"));
+            }
+            return Mono.fromFuture(geminiRateLimiter.acquire())
+                .doOnError(e -> call.onNotExecuted())
+                .doOnCancel(call::onNotExecuted)
+                .flatMapMany(permit -> executeGeminiStream(prompt, permit, call));
+        });
+    }
+    
+    private Flux<String> executeGeminiStream(String prompt, GeminiRateLimiter.Permit permit,
+                                             GeminiCircuitBreaker.Call call) {
+        long startNanos = System.nanoTime();
+        AtomicBoolean firstChunk = new AtomicBoolean(true);
+        return geminiClient.stream(prompt)
+            .doOnNext(chunk -> {
+                // Upstream health is judged on time-to-first-chunk, not on total stream length
+                if (firstChunk.compareAndSet(true, false)) {
+                    call.onSuccess(System.nanoTime() - startNanos);
+                    recordGeminiCall("stream", "success", startNanos);
+                }
+            })
+            .doOnComplete(() -> {
+                permit.onSuccess();
+                if (firstChunk.compareAndSet(true, false)) {
+                    recordGeminiCall("stream", "success", startNanos);
+                }
+            })
+            .doOnError(e -> {
+                if (isBackpressure(e)) {
+                    permit.onBackpressure();
+                } else {
+                    permit.onIgnored();
+                }
+                if (firstChunk.compareAndSet(true, false)) {
+                    call.onFailure();
+                    recordGeminiCall("stream", outcome(e), startNanos);
+                }
+            })
+            .doOnCancel(() -> {
+                permit.onIgnored();
+                if (firstChunk.compareAndSet(true, false)) {
+                    call.onNotExecuted();
+                    recordGeminiCall("stream", "cancelled", startNanos);
+                }
+            });
+    }
+    
+    private Mono<String> executeGeminiCall(String prompt, GeminiRateLimiter.Permit permit,
+                                           GeminiCircuitBreaker.Call call) {
+        long startNanos = System.nanoTime();
+        return geminiClient.generate(prompt)
+            .doOnSuccess(text -> {
+                permit.onSuccess();
+                call.onSuccess(System.nanoTime() - startNanos);
+                recordGeminiCall("generate", "success", startNanos);
+            })
+            .doOnError(e -> {
+                if (isBackpressure(e)) {
+                    permit.onBackpressure();
+                } else {
+                    permit.onIgnored();
+                }
+                call.onFailure();
+                recordGeminiCall("generate", outcome(e), startNanos);
+            })
+            .doOnCancel(() -> {
+                permit.onIgnored();
+                call.onNotExecuted();
+                recordGeminiCall("generate", "cancelled", startNanos);
+            });
+    }
+    
+    private void recordGeminiCall(String operation, String outcome, long startNanos) {
+        Timer.builder("gemini.requests")
+            .description("Gemini call latency; streams are timed to the first chunk")
+            .tag("operation", operation)
+            .tag("outcome", outcome)
+            .register(meterRegistry)
+            .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+    
+    private String outcome(Throwable error) {
+        if (isBackpressure(error)) {
+            return "backpressure";
+        }
+        return error instanceof WebClientResponseException ? "http_error" : "error";
+    }
+    
+    private void countFallbacks(String mode, String reason, int tasks) {
+        meterRegistry.counter("ai.priority.fallbacks", "mode", mode, "reason", reason).increment(tasks);
+    }
+    
+    private void countParseFailure(String mode) {
+        meterRegistry.counter("ai.priority.parse.failures", "mode", mode).increment();
+    }
+    
+    private boolean isBackpressure(Throwable error) {
+        if (error instanceof WebClientResponseException responseException) {
+            return GeminiRateLimiter.isBackpressure(responseException.getStatusCode());
+        }
+        // Timeouts are treated as overload as well, whether from Reactor or the Netty pipeline
+        for (Throwable cause = Exceptions.unwrap(error); cause != null; cause = cause.getCause()) {
+            if (cause instanceof TimeoutException || cause instanceof io.netty.handler.timeout.TimeoutException) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
     private Integer parsePriorityResponse(String response) {
+        // Throws on unparseable output so the default priority never ends up in the cache
+        String cleaned = response.trim().replaceAll("[^0-9]", "");
+        if (cleaned.isEmpty()) {
+            countParseFailure("single");
+            throw new IllegalArgumentException("Failed to parse priority response: " + response);
+        }
+        int priority = Integer.parseInt(cleaned.substring(0, 1));
+        return Math.max(1, Math.min(5, priority));
+    }
+    
+    private Map<Long, Integer> parseBatchPriorityResponse(String response, Set<Long> expectedIds) {
+        // Models sometimes wrap JSON in markdown fences or prose; keep only the array
+        int start = response.indexOf('[');
+        int end = response.lastIndexOf(']');
+        if (start < 0 || end <= start) {
+            countParseFailure("batch");
+            throw new IllegalArgumentException("No JSON array in batch priority response");
+        }
+        
+        JsonNode results;
         try {
-            String cleaned = response.trim().replaceAll("[^0-9]", "");
-            int priority = Integer.parseInt(cleaned.substring(0, 1));
-            return Math.max(1, Math.min(5, priority));
+            results = objectMapper.readTree(response.substring(start, end + 1));
         } catch (Exception e) {
-            log.warn("Failed to parse priority response: {}, defaulting to 3", response);
-            return 3;
+            countParseFailure("batch");
+            throw new IllegalArgumentException("Malformed batch priority response", e);
+        }
+        Map<Long, Integer> priorities = new HashMap<>();
+        for (JsonNode result : results) {
+            JsonNode id = result.path("id");
+            JsonNode priority = result.path("priority");
+            if (!id.canConvertToLong() || !priority.canConvertToInt()
+                    || !expectedIds.contains(id.asLong())) {
+                log.warn("Skipping malformed batch priority entry: {}", result);
+                countParseFailure("batch_entry");
+                continue;
+            }
+            priorities.put(id.asLong(), Math.max(1, Math.min(5, priority.asInt())));
+        }
+        if (priorities.isEmpty()) {
+            // Lets scoreBatch count the whole batch as an error fallback rather than as missing entries
+            throw new IllegalArgumentException("No usable entries in batch priority response");
         }
+        return priorities;
     }
     
     private String parseSummaryResponse(String response) {
         // Clean up the response and ensure it's not too long
         String cleaned = response.trim();
-        if (cleaned.length() > 500) {
-            cleaned = cleaned.substring(0, 497) + "...";
+        if (cleaned.length() > SUMMARY_MAX_LENGTH) {
+            cleaned = cleaned.substring(0, SUMMARY_MAX_LENGTH - 3) + "...";
         }
         return cleaned;
     }
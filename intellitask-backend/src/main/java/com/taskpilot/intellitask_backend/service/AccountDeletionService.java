@@ -0,0 +1,154 @@
+package com.taskpilot.intellitask_backend.service;
+
+import com.taskpilot.intellitask_backend.dto.response.AccountDeletionResponse;
+import com.taskpilot.intellitask_backend.exception.BadRequestException;
+import com.taskpilot.intellitask_backend.exception.ResourceNotFoundException;
+import com.taskpilot.intellitask_backend.repository.AiJobRepository;
+import com.taskpilot.intellitask_backend.repository.TodoItemRepository;
+import com.taskpilot.intellitask_backend.repository.UserRepository;
+import com.taskpilot.intellitask_backend.security.TokenEpochCache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+@Slf4j
+public class AccountDeletionService {
+    
+    private final UserRepository userRepository;
+    private final TodoItemRepository todoItemRepository;
+    private final AiJobRepository aiJobRepository;
+    private final TokenEpochCache tokenEpochCache;
+    private final ThreadPoolTaskExecutor executor;
+    
+    @Value("${account.deletion.chunk-size:1000}")
+    private int chunkSize;
+    
+    @Value("${account.deletion.inline-max-tasks:5000}")
+    private long inlineMaxTasks;
+    
+    @Value("${account.deletion.lease:PT5M}")
+    private Duration lease;
+    
+    @Value("${account.deletion.resume.enabled:true}")
+    private boolean resumeEnabled;
+    
+    public AccountDeletionService(UserRepository userRepository,
+                                  TodoItemRepository todoItemRepository,
+                                  AiJobRepository aiJobRepository,
+                                  TokenEpochCache tokenEpochCache,
+                                  @Qualifier("accountDeletionExecutor") ThreadPoolTaskExecutor executor) {
+        this.userRepository = userRepository;
+        this.todoItemRepository = todoItemRepository;
+        this.aiJobRepository = aiJobRepository;
+        this.tokenEpochCache = tokenEpochCache;
+        this.executor = executor;
+    }
+    
+    public AccountDeletionResponse requestDeletion(Long userId) {
+        if (!userRepository.existsById(userId)) {
+            throw new ResourceNotFoundException("User not found");
+        }
+        long taskCount = todoItemRepository.countByUserId(userId);
+        
+        // Marking the user bumps their token epoch and locks them out of login, so no new tasks
+        // race the chunked delete; it also takes the lease, so no resume pass starts on it meanwhile
+        LocalDateTime now = now();
+        if (userRepository.markDeletionRequested(userId, now, now.plus(lease)) == 0) {
+            throw new BadRequestException("Account deletion is already in progress");
+        }
+        tokenEpochCache.invalidate(userId);
+        
+        if (taskCount <= inlineMaxTasks) {
+            try {
+                deleteAccount(userId);
+                return new AccountDeletionResponse("Account deleted successfully", taskCount, true);
+            } catch (RuntimeException e) {
+                log.warn("Inline deletion of user {} failed, leaving it to the resume pass: {}", userId, e.getMessage());
+                userRepository.updateDeletionLease(userId, null);
+                return new AccountDeletionResponse("Account deletion started", taskCount, false);
+            }
+        }
+        log.info("Deleting user {} with {} tasks in the background", userId, taskCount);
+        start(userId);
+        return new AccountDeletionResponse("Account deletion started", taskCount, false);
+    }
+    
+    @Scheduled(fixedDelayString = "${account.deletion.resume-interval:PT1M}")
+    public void scheduledResume() {
+        if (resumeEnabled) {
+            resumePendingDeletions();
+        }
+    }
+    
+    // Deletions are never given up on: one that failed, was rejected or whose node died is marked
+    // and unleased, and the next pass on any node picks it up; the account.deletions.pending and
+    // account.deletions.oldest.age.seconds gauges show one that keeps failing
+    public void resumePendingDeletions() {
+        LocalDateTime now = now();
+        List<Long> userIds = userRepository.findDeletionsToResume(now, PageRequest.of(0, Math.max(1, executor.getMaxPoolSize())));
+        for (Long userId : userIds) {
+            if (userRepository.claimDeletion(userId, now, now.plus(lease)) > 0) {
+                log.info("Resuming deletion of user {}", userId);
+                start(userId);
+            }
+        }
+    }
+    
+    public Map<String, Object> stats() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("pending", userRepository.countByDeletionRequestedAtNotNull());
+        result.put("oldestAgeSeconds", userRepository.findOldestDeletionRequest()
+                .map(requestedAt -> Duration.between(requestedAt, now()).toSeconds())
+                .orElse(0L));
+        return result;
+    }
+    
+    private void start(Long userId) {
+        try {
+            executor.execute(() -> {
+                try {
+                    deleteAccount(userId);
+                } catch (Exception e) {
+                    log.error("Deletion of user {} failed; it will be resumed", userId, e);
+                    userRepository.updateDeletionLease(userId, null);
+                }
+            });
+        } catch (TaskRejectedException e) {
+            log.warn("Deletion of user {} rejected by a full queue; it will be resumed", userId);
+            userRepository.updateDeletionLease(userId, null);
+        }
+    }
+    
+    // Each chunk is its own short transaction, so row locks are held for one chunk at a time and
+    // a resumed deletion continues from whatever is left; the user row goes last, once nothing
+    // references it. Every chunk extends the lease, however long the account takes
+    private void deleteAccount(Long userId) {
+        long deleted = 0;
+        List<Long> ids;
+        while (!(ids = todoItemRepository.findIdsByUserId(userId, PageRequest.of(0, chunkSize))).isEmpty()) {
+            deleted += todoItemRepository.deleteByUserIdAndIds(userId, ids);
+            userRepository.updateDeletionLease(userId, now().plus(lease));
+            log.debug("Deleted {} tasks of user {} so far", deleted, userId);
+        }
+        aiJobRepository.deleteByUserId(userId);
+        userRepository.deleteById(userId);
+        log.info("Deleted user account {} and {} tasks", userId, deleted);
+    }
+    
+    private static LocalDateTime now() {
+        return LocalDateTime.now(ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,76 @@
+package com.taskpilot.intellitask_backend.service;
+
+import com.taskpilot.intellitask_backend.dto.response.UpdatePrioritiesResponse;
+import com.taskpilot.intellitask_backend.entity.AiJob;
+import com.taskpilot.intellitask_backend.entity.AiJobStatus;
+import com.taskpilot.intellitask_backend.entity.AiJobType;
+import com.taskpilot.intellitask_backend.repository.AiJobRepository;
+import com.taskpilot.intellitask_backend.repository.TodoItemRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AiJobService {
+    
+    private final AiJobRepository aiJobRepository;
+    private final TodoItemRepository todoItemRepository;
+    private final AIService aiService;
+    private final TodoVersionTracker todoVersionTracker;
+    
+    @Value("${ai.priority.incremental.enabled:true}")
+    private boolean incrementalScoringEnabled;
+    
+    // Joins the caller's transaction, so the job exists exactly when the todo it scores does
+    @Transactional
+    public void enqueueScoreTask(Long userId, Long todoId) {
+        aiJobRepository.save(newJob(AiJobType.SCORE_TASK, userId, todoId));
+    }
+    
+    @Transactional
+    public void enqueueScoreTasks(Long userId, List<Long> todoIds) {
+        List<AiJob> jobs = new ArrayList<>(todoIds.size());
+        for (Long todoId : todoIds) {
+            jobs.add(newJob(AiJobType.SCORE_TASK, userId, todoId));
+        }
+        aiJobRepository.saveAll(jobs);
+    }
+    
+    @Transactional
+    public UpdatePrioritiesResponse enqueueUpdatePriorities(Long userId, boolean full) {
+        // Ahead of the task updates below, see TodoVersionTracker.bump
+        todoVersionTracker.bump(userId);
+        if (full || !incrementalScoringEnabled) {
+            todoItemRepository.invalidatePriorities(userId);
+        }
+        int queued = aiService.markStalePrioritiesPending(userId);
+        if (queued == 0) {
+            return new UpdatePrioritiesResponse("All task priorities are up to date", 0);
+        }
+        
+        // A job that is already running may have read the stale set before these rows were
+        // marked, so only a still-pending job can absorb them
+        if (!aiJobRepository.existsByUserIdAndTypeAndStatus(userId, AiJobType.UPDATE_PRIORITIES, AiJobStatus.PENDING)) {
+            aiJobRepository.save(newJob(AiJobType.UPDATE_PRIORITIES, userId, null));
+        }
+        return new UpdatePrioritiesResponse(String.format("Queued priority updates for %d tasks", queued), queued);
+    }
+    
+    private static AiJob newJob(AiJobType type, Long userId, Long todoId) {
+        AiJob job = new AiJob();
+        job.setType(type);
+        job.setUserId(userId);
+        job.setTodoId(todoId);
+        job.setAvailableAt(LocalDateTime.now(ZoneOffset.UTC));
+        return job;
+    }
+}
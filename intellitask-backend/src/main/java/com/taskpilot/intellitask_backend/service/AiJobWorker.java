@@ -0,0 +1,293 @@
+package com.taskpilot.intellitask_backend.service;
+
+import com.taskpilot.intellitask_backend.entity.AiJob;
+import com.taskpilot.intellitask_backend.entity.AiJobStatus;
+import com.taskpilot.intellitask_backend.entity.AiJobType;
+import com.taskpilot.intellitask_backend.entity.PriorityEngine;
+import com.taskpilot.intellitask_backend.entity.TodoItem;
+import com.taskpilot.intellitask_backend.repository.AiJobRepository;
+import com.taskpilot.intellitask_backend.repository.TodoItemRepository;
+import com.taskpilot.intellitask_backend.service.ai.PriorityScore;
+import com.taskpilot.intellitask_backend.service.ai.ScoringFingerprint;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.net.InetAddress;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+
+@Component
+@Slf4j
+public class AiJobWorker {
+    
+    private static final int MAX_ERROR_LENGTH = 500;
+    
+    private final AiJobRepository aiJobRepository;
+    private final TodoItemRepository todoItemRepository;
+    private final AIService aiService;
+    private final TodoVersionTracker todoVersionTracker;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolTaskExecutor executor;
+    private final String nodeId;
+    private final Semaphore freeWorkers;
+    private final Set<Long> runningJobIds = ConcurrentHashMap.newKeySet();
+    
+    @Value("${ai.jobs.workers.enabled:true}")
+    private boolean enabled;
+    
+    @Value("${ai.jobs.claim-batch-size:10}")
+    private int claimBatchSize;
+    
+    @Value("${ai.jobs.lease:PT2M}")
+    private Duration lease;
+    
+    @Value("${ai.jobs.max-attempts:5}")
+    private int maxAttempts;
+    
+    @Value("${ai.jobs.backoff-base:PT5S}")
+    private Duration backoffBase;
+    
+    @Value("${ai.jobs.backoff-max:PT10M}")
+    private Duration backoffMax;
+    
+    public AiJobWorker(AiJobRepository aiJobRepository,
+                       TodoItemRepository todoItemRepository,
+                       AIService aiService,
+                       TodoVersionTracker todoVersionTracker,
+                       TransactionTemplate transactionTemplate,
+                       @Qualifier("priorityScoringExecutor") ThreadPoolTaskExecutor executor,
+                       @Value("${ai.scoring.worker-threads:2}") int workerThreads) {
+        this.aiJobRepository = aiJobRepository;
+        this.todoItemRepository = todoItemRepository;
+        this.aiService = aiService;
+        this.todoVersionTracker = todoVersionTracker;
+        this.transactionTemplate = transactionTemplate;
+        this.executor = executor;
+        this.freeWorkers = new Semaphore(workerThreads);
+        this.nodeId = newNodeId();
+    }
+    
+    @Scheduled(fixedDelayString = "${ai.jobs.poll-interval:PT0.5S}")
+    public void poll() {
+        if (!enabled) {
+            return;
+        }
+        // Claim only as many jobs as there are idle workers, so nothing claimed sits in a
+        // local queue holding a lease that other nodes could be using
+        int slots = 0;
+        while (slots < claimBatchSize && freeWorkers.tryAcquire()) {
+            slots++;
+        }
+        if (slots == 0) {
+            return;
+        }
+        
+        List<AiJob> claimed;
+        try {
+            claimed = claim(slots);
+        } catch (Exception e) {
+            freeWorkers.release(slots);
+            log.warn("Failed to claim AI jobs: {}", e.getMessage());
+            return;
+        }
+        freeWorkers.release(slots - claimed.size());
+        
+        for (AiJob job : claimed) {
+            runningJobIds.add(job.getId());
+            try {
+                executor.execute(() -> {
+                    try {
+                        run(job);
+                    } finally {
+                        runningJobIds.remove(job.getId());
+                        freeWorkers.release();
+                    }
+                });
+            } catch (TaskRejectedException e) {
+                runningJobIds.remove(job.getId());
+                freeWorkers.release();
+                aiJobRepository.releaseClaimed(job.getId(), nodeId, AiJobStatus.PENDING, now(), job.getLastError());
+            }
+        }
+    }
+    
+    // Rescoring a large backlog can outlast a single lease, so leases
+    // are extended for as long as this node is still working on the job; a node that dies stops
+    // renewing and its jobs become claimable once the last lease runs out
+    @Scheduled(fixedDelayString = "${ai.jobs.heartbeat-interval:PT30S}")
+    public void heartbeat() {
+        if (runningJobIds.isEmpty()) {
+            return;
+        }
+        try {
+            aiJobRepository.renewLeases(List.copyOf(runningJobIds), nodeId, now().plus(lease));
+        } catch (Exception e) {
+            log.warn("Failed to renew AI job leases: {}", e.getMessage());
+        }
+    }
+    
+    public Map<String, Object> stats() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("busyWorkers", executor.getActiveCount());
+        return result;
+    }
+    
+    private List<AiJob> claim(int limit) {
+        LocalDateTime now = now();
+        List<AiJob> claimed = transactionTemplate.execute(status -> {
+            List<AiJob> jobs = new ArrayList<>();
+            for (AiJob job : aiJobRepository.lockClaimable(now, limit)) {
+                if (job.getStatus() == AiJobStatus.RUNNING) {
+                    log.warn("Reclaiming AI job {} whose lease held by {} expired", job.getId(), job.getLeaseOwner());
+                    if (job.getAttempts() >= maxAttempts) {
+                        job.setStatus(AiJobStatus.DEAD);
+                        job.setLeaseOwner(null);
+                        job.setLastError("Lease expired on the final attempt");
+                        clearPending(job);
+                        continue;
+                    }
+                }
+                job.setStatus(AiJobStatus.RUNNING);
+                job.setLeaseOwner(nodeId);
+                job.setAttempts(job.getAttempts() + 1);
+                job.setAvailableAt(now.plus(lease));
+                jobs.add(job);
+            }
+            return jobs;
+        });
+        return claimed != null ? claimed : List.of();
+    }
+    
+    private void run(AiJob job) {
+        try {
+            boolean done = switch (job.getType()) {
+                case SCORE_TASK -> scoreTask(job);
+                case UPDATE_PRIORITIES -> updatePriorities(job);
+            };
+            if (done) {
+                aiJobRepository.deleteClaimed(job.getId(), nodeId);
+            } else {
+                retryOrDeadLetter(job, "Gemini unavailable, task scored heuristically", true);
+            }
+        } catch (Exception e) {
+            log.error("AI job {} ({}) failed on attempt {}", job.getId(), job.getType(), job.getAttempts(), e);
+            retryOrDeadLetter(job, e.toString(), false);
+        }
+    }
+    
+    private boolean scoreTask(AiJob job) {
+        TodoItem todo = todoItemRepository.findById(job.getTodoId()).orElse(null);
+        if (todo == null) {
+            return true;
+        }
+        // Completed before a worker got to it: no sweep or rescore looks at completed tasks again,
+        // so the flag has to be cleared here
+        if (Boolean.TRUE.equals(todo.getCompleted())) {
+            if (Boolean.TRUE.equals(todo.getAiPriorityPending())) {
+                clearPending(job);
+            }
+            return true;
+        }
+        
+        PriorityScore priority = aiService.generateTaskPriority(todo.getTask(), todo.getDate());
+        ScoringFingerprint fingerprint = aiService.fingerprint(todo.getTask(), todo.getDate());
+        int updated = todoItemRepository.updateAiPriority(todo.getId(), priority.priority(), priority.engine(),
+                fingerprint.textHash(), fingerprint.dueBucket(), fingerprint.expiresOn(), fingerprint.promptVersion());
+        if (updated > 0) {
+            todoVersionTracker.bump(job.getUserId(), items -> items.stream()
+                    .filter(item -> item.getId().equals(todo.getId()))
+                    .forEach(item -> {
+                        item.setAiPriority(priority.priority());
+                        item.setAiPriorityEngine(priority.engine());
+                        item.setAiPriorityPending(false);
+                    }));
+            log.debug("Scored task {} -> Priority: {} ({})", todo.getId(), priority.priority(), priority.engine());
+        }
+        // The heuristic score is visible right away; Gemini is retried with backoff and the
+        // job dead-lettered if it never succeeds (the nightly sweep picks the task up again)
+        return priority.engine() == PriorityEngine.GEMINI;
+    }
+    
+    private boolean updatePriorities(AiJob job) {
+        List<TodoItem> stale = aiService.findStalePriorities(job.getUserId());
+        if (!stale.isEmpty()) {
+            aiService.rescorePriorities(job.getUserId(), stale).block();
+        }
+        return true;
+    }
+    
+    // A Gemini outage is expected to outlast the retries now and then; the task keeps its heuristic
+    // score and the nightly sweep rescores it, so that path is not logged as an error
+    private void retryOrDeadLetter(AiJob job, String error, boolean geminiUnavailable) {
+        String lastError = error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+        if (job.getAttempts() >= maxAttempts) {
+            if (geminiUnavailable) {
+                log.warn("AI job {} ({}) dead-lettered after {} attempts: {}", job.getId(), job.getType(), job.getAttempts(), lastError);
+            } else {
+                log.error("AI job {} ({}) dead-lettered after {} attempts: {}", job.getId(), job.getType(), job.getAttempts(), lastError);
+            }
+            aiJobRepository.releaseClaimed(job.getId(), nodeId, AiJobStatus.DEAD, now(), lastError);
+            clearPending(job);
+            return;
+        }
+        Duration delay = backoff(job.getAttempts());
+        log.debug("Retrying AI job {} in {}", job.getId(), delay);
+        aiJobRepository.releaseClaimed(job.getId(), nodeId, AiJobStatus.PENDING, now().plus(delay), lastError);
+    }
+    
+    private Duration backoff(int attempts) {
+        long base = backoffBase.toMillis() << Math.min(attempts - 1, 20);
+        long capped = Math.min(base, backoffMax.toMillis());
+        // +/-20% jitter keeps retries from many nodes from landing together
+        return Duration.ofMillis((long) (capped * ThreadLocalRandom.current().nextDouble(0.8, 1.2)));
+    }
+    
+    // Bumps first and in the same transaction, joining the claim's when there is one, so the cached
+    // list stops showing the task as pending as soon as the flag is cleared
+    private void clearPending(AiJob job) {
+        transactionTemplate.executeWithoutResult(status -> {
+            if (job.getType() == AiJobType.SCORE_TASK) {
+                todoVersionTracker.bump(job.getUserId(), items -> items.stream()
+                        .filter(item -> item.getId().equals(job.getTodoId()))
+                        .forEach(item -> item.setAiPriorityPending(false)));
+                todoItemRepository.clearAiPriorityPending(job.getTodoId());
+            } else if (job.getType() == AiJobType.UPDATE_PRIORITIES) {
+                todoVersionTracker.bump(job.getUserId(), items -> items.forEach(item -> item.setAiPriorityPending(false)));
+                todoItemRepository.clearAiPriorityPendingForUser(job.getUserId());
+            }
+        });
+    }
+    
+    private static LocalDateTime now() {
+        return LocalDateTime.now(ZoneOffset.UTC);
+    }
+    
+    // Identifies this process as the holder of a lease; unique even for two nodes on one host
+    static String newNodeId() {
+        return hostName() + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+    
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            return "node";
+        }
+    }
+}
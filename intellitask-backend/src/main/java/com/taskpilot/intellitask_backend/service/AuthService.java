@@ -2,20 +2,21 @@ package com.taskpilot.intellitask_backend.service;
 
 import com.taskpilot.intellitask_backend.dto.request.LoginRequest;
 import com.taskpilot.intellitask_backend.dto.request.SignUpRequest;
+import com.taskpilot.intellitask_backend.dto.response.AccountDeletionResponse;
 import com.taskpilot.intellitask_backend.dto.response.JwtResponse;
 import com.taskpilot.intellitask_backend.dto.response.UserDto;
 import com.taskpilot.intellitask_backend.entity.User;
 import com.taskpilot.intellitask_backend.exception.BadRequestException;
 import com.taskpilot.intellitask_backend.exception.ResourceNotFoundException;
+import com.taskpilot.intellitask_backend.exception.ServiceUnavailableException;
 import com.taskpilot.intellitask_backend.exception.UnauthorizedException;
-import com.taskpilot.intellitask_backend.repository.TodoItemRepository;
 import com.taskpilot.intellitask_backend.repository.UserRepository;
 import com.taskpilot.intellitask_backend.security.JwtUtil;
+import com.taskpilot.intellitask_backend.security.LoginThrottle;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @RequiredArgsConstructor
@@ -23,12 +24,16 @@ import org.springframework.transaction.annotation.Transactional;
 public class AuthService {
     
     private final UserRepository userRepository;
-    private final TodoItemRepository todoItemRepository;
+    private final AccountDeletionService accountDeletionService;
     private final PasswordEncoder passwordEncoder;
     private final JwtUtil jwtUtil;
+    private final LoginThrottle loginThrottle;
     
-    @Transactional
-    public JwtResponse register(SignUpRequest request) {
+    // Not transactional: the hash may wait on the bounded hashing pool and must not hold a
+    // pooled connection meanwhile (the unique email constraint still guards concurrent signups)
+    public JwtResponse register(SignUpRequest request, String clientIp) {
+        loginThrottle.acquireSignup(clientIp);
+        
         // Check if user already exists
         if (userRepository.existsByEmail(request.getEmail().toLowerCase())) {
             throw new BadRequestException("User already exists with this email");
@@ -44,25 +49,33 @@ public class AuthService {
         user = userRepository.save(user);
         
         // Generate token
-        String token = jwtUtil.generateToken(user.getId().toString());
+        String token = jwtUtil.generateToken(user.getId().toString(), user.getTokenEpoch());
         
         // Create response
         UserDto userDto = mapToUserDto(user);
         return new JwtResponse(token, userDto);
     }
     
-    public JwtResponse login(LoginRequest request) {
+    public JwtResponse login(LoginRequest request, String clientIp) {
+        String email = request.getEmail().toLowerCase();
+        // Throttled attempts are turned away before the lookup and any hashing
+        loginThrottle.acquireLogin(email, clientIp);
+        
         // Find user by email
-        User user = userRepository.findByEmail(request.getEmail().toLowerCase())
-                .orElseThrow(() -> new UnauthorizedException("Invalid email or password"));
+        User user = userRepository.findByEmail(email).orElse(null);
         
-        // Check password
-        if (!passwordEncoder.matches(request.getPassword(), user.getPassword())) {
+        // Check password (accounts queued for deletion are treated as gone)
+        if (user == null
+                || !passwordEncoder.matches(request.getPassword(), user.getPassword())
+                || user.getDeletionRequestedAt() != null) {
+            loginThrottle.recordFailure(email);
             throw new UnauthorizedException("Invalid email or password");
         }
+        loginThrottle.recordSuccess(email);
+        rehashIfOutdated(user, request.getPassword());
         
         // Generate token
-        String token = jwtUtil.generateToken(user.getId().toString());
+        String token = jwtUtil.generateToken(user.getId().toString(), user.getTokenEpoch());
         
         // Create response
         UserDto userDto = mapToUserDto(user);
@@ -76,18 +89,22 @@ public class AuthService {
         return mapToUserDto(user);
     }
     
-    @Transactional
-    public void deleteAccount(Long userId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
-        
-        // Delete all todos (cascade will handle this, but let's log it)
-        int deletedTodos = user.getTodoItems().size();
-        log.info("Deleting {} todos for user {}", deletedTodos, userId);
-        
-        // Delete user (this will cascade delete todos)
-        userRepository.delete(user);
-        log.info("Successfully deleted user account: {}", userId);
+    public AccountDeletionResponse deleteAccount(Long userId) {
+        return accountDeletionService.requestDeletion(userId);
+    }
+    
+    // Hashes made at an older BCrypt strength are replaced while the plain password is at hand;
+    // if the hashing pool is saturated the upgrade simply waits for a later login
+    private void rehashIfOutdated(User user, String rawPassword) {
+        if (!passwordEncoder.upgradeEncoding(user.getPassword())) {
+            return;
+        }
+        try {
+            userRepository.updatePassword(user.getId(), passwordEncoder.encode(rawPassword));
+            log.debug("Rehashed password for user {} at the current strength", user.getId());
+        } catch (ServiceUnavailableException e) {
+            log.debug("Skipped password rehash for user {}: {}", user.getId(), e.getMessage());
+        }
     }
     
     private UserDto mapToUserDto(User user) {
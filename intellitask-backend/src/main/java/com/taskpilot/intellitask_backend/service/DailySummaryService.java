@@ -0,0 +1,131 @@
+package com.taskpilot.intellitask_backend.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.taskpilot.intellitask_backend.entity.TodoItem;
+import com.taskpilot.intellitask_backend.repository.TodoItemRepository;
+import com.taskpilot.intellitask_backend.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+
+@Service
+@Slf4j
+public class DailySummaryService {
+    
+    public static final String ALL_COMPLETED_SUMMARY = "All your tasks are completed! Great job staying productive.";
+    
+    private final TodoItemRepository todoItemRepository;
+    private final AIService aiService;
+    private final UserRepository userRepository;
+    private final Cache<Long, CachedSummary> cache;
+    private final MeterRegistry meterRegistry;
+    
+    public DailySummaryService(TodoItemRepository todoItemRepository,
+                               AIService aiService,
+                               UserRepository userRepository,
+                               MeterRegistry meterRegistry,
+                               @Value("${ai.summary.cache.max-size:10000}") long maxSize,
+                               @Value("${ai.summary.cache.ttl:PT24H}") Duration ttl) {
+        this.todoItemRepository = todoItemRepository;
+        this.aiService = aiService;
+        this.userRepository = userRepository;
+        this.meterRegistry = meterRegistry;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+    
+    public String getDailySummary(Long userId) {
+        return getDailySummaryAsync(userId).block();
+    }
+    
+    public Mono<String> getDailySummaryAsync(Long userId) {
+        SummaryLookup lookup = lookup(userId);
+        if (lookup.summary() != null) {
+            return Mono.just(lookup.summary());
+        }
+        
+        return aiService.requestDailySummaryAsync(lookup.tasks())
+                .doOnNext(summary -> store(userId, lookup, summary))
+                .onErrorResume(e -> {
+                    log.error("Error generating daily summary: ", e);
+                    countFallback("blocking");
+                    return Mono.just(AIService.FALLBACK_SUMMARY);
+                });
+    }
+    
+    public Flux<String> streamDailySummary(Long userId) {
+        SummaryLookup lookup = lookup(userId);
+        if (lookup.summary() != null) {
+            return Flux.just(lookup.summary());
+        }
+        
+        StringBuilder summary = new StringBuilder();
+        return aiService.streamDailySummary(lookup.tasks())
+                .doOnNext(summary::append)
+                .doOnComplete(() -> {
+                    if (summary.length() > 0) {
+                        store(userId, lookup, summary.toString());
+                    }
+                })
+                .onErrorResume(e -> {
+                    log.error("Error streaming daily summary: ", e);
+                    // Once text has reached the client a fallback would read as a second summary
+                    if (summary.length() > 0) {
+                        return Flux.empty();
+                    }
+                    countFallback("stream");
+                    return Flux.just(AIService.FALLBACK_SUMMARY);
+                })
+                .switchIfEmpty(Flux.defer(() -> {
+                    countFallback("stream");
+                    return Flux.just(AIService.FALLBACK_SUMMARY);
+                }));
+    }
+    
+    // Either a summary that can be returned as is (still current in the cache, or no open tasks)
+    // or the open tasks Gemini has to summarize
+    private SummaryLookup lookup(Long userId) {
+        // Read the version before loading tasks so a concurrent change always wins; it is the shared
+        // users.todo_version, so a change made through any replica retires this replica's summary
+        long version = userRepository.findTodoVersion(userId).orElse(0L);
+        LocalDate today = LocalDate.now();
+        
+        CachedSummary cached = cache.getIfPresent(userId);
+        if (cached != null && cached.version() == version && cached.date().equals(today)) {
+            return new SummaryLookup(version, today, cached.summary(), null);
+        }
+        
+        // The task query is short; only the Gemini wait is moved off the request thread
+        List<TodoItem> userTasks = todoItemRepository.findByUserIdAndCompletedFalse(userId);
+        SummaryLookup lookup = new SummaryLookup(version, today, null, userTasks);
+        if (userTasks.isEmpty()) {
+            store(userId, lookup, ALL_COMPLETED_SUMMARY);
+            return new SummaryLookup(version, today, ALL_COMPLETED_SUMMARY, null);
+        }
+        return lookup;
+    }
+    
+    private void store(Long userId, SummaryLookup lookup, String summary) {
+        cache.put(userId, new CachedSummary(lookup.version(), lookup.date(), summary));
+    }
+    
+    private void countFallback(String mode) {
+        meterRegistry.counter("ai.summary.fallbacks", "mode", mode).increment();
+    }
+    
+    private record CachedSummary(long version, LocalDate date, String summary) {
+    }
+    
+    private record SummaryLookup(long version, LocalDate date, String summary, List<TodoItem> tasks) {
+    }
+}
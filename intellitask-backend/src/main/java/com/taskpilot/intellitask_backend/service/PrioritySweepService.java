@@ -0,0 +1,214 @@
+package com.taskpilot.intellitask_backend.service;
+
+import com.taskpilot.intellitask_backend.entity.SweepCheckpoint;
+import com.taskpilot.intellitask_backend.entity.TodoItem;
+import com.taskpilot.intellitask_backend.repository.SweepCheckpointRepository;
+import com.taskpilot.intellitask_backend.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PrioritySweepService {
+    
+    static final String SWEEP_NAME = "priority-sweep";
+    
+    private static final int SKIPPED_FOR_BUDGET = -1;
+    
+    private final AIService aiService;
+    private final UserRepository userRepository;
+    private final SweepCheckpointRepository checkpointRepository;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final String nodeId = AiJobWorker.newNodeId();
+    
+    @Value("${ai.sweep.enabled:true}")
+    private boolean enabled;
+    
+    @Value("${ai.sweep.page-size:200}")
+    private int pageSize;
+    
+    @Value("${ai.sweep.parallelism:4}")
+    private int parallelism;
+    
+    @Value("${ai.sweep.max-ai-calls:5000}")
+    private int maxAiCalls;
+    
+    @Value("${ai.sweep.lease:PT10M}")
+    private Duration lease;
+    
+    @Scheduled(cron = "${ai.sweep.cron:0 0 3 * * *}")
+    public void scheduledSweep() {
+        if (enabled) {
+            sweep();
+        }
+    }
+    
+    public void sweep() {
+        if (!running.compareAndSet(false, true)) {
+            log.info("Priority sweep is already running, skipping");
+            return;
+        }
+        try {
+            // The running flag only covers this JVM; the lease on the checkpoint row keeps the
+            // other replicas, whose cron fires at the same moment, from sweeping alongside us
+            if (!claimLease()) {
+                log.info("Priority sweep is running on another node, skipping");
+                return;
+            }
+            try {
+                runSweep();
+            } finally {
+                checkpointRepository.releaseLease(SWEEP_NAME, nodeId);
+            }
+        } catch (Exception e) {
+            log.error("Priority sweep failed; it will resume from its checkpoint", e);
+        } finally {
+            running.set(false);
+        }
+    }
+    
+    private boolean claimLease() {
+        if (!checkpointRepository.existsById(SWEEP_NAME)) {
+            try {
+                checkpointRepository.save(new SweepCheckpoint(SWEEP_NAME, null, 0L, true, null, null, null));
+            } catch (DataIntegrityViolationException e) {
+                log.debug("Sweep checkpoint was created by another node");
+            }
+        }
+        LocalDateTime now = now();
+        return checkpointRepository.claimLease(SWEEP_NAME, nodeId, now, now.plus(lease)) > 0;
+    }
+    
+    private void runSweep() {
+        LocalDate today = LocalDate.now();
+        SweepCheckpoint checkpoint = checkpointRepository.findById(SWEEP_NAME).orElseThrow();
+        
+        // An unfinished run (budget exhausted or restart) resumes where it stopped, even on
+        // a later day, so users late in the id order are not starved by a small budget
+        if (checkpoint.getCompleted()) {
+            if (today.equals(checkpoint.getRunDate())) {
+                log.debug("Priority sweep already completed for {}", today);
+                return;
+            }
+            checkpoint.setRunDate(today);
+            checkpoint.setLastUserId(0L);
+            checkpoint.setCompleted(false);
+            if (!saveProgress(checkpoint)) {
+                return;
+            }
+        } else {
+            log.info("Resuming priority sweep after user {}", checkpoint.getLastUserId());
+        }
+        
+        AtomicInteger budget = new AtomicInteger(maxAiCalls);
+        AtomicLong leaseRenewedAt = new AtomicLong(System.nanoTime());
+        int usersSwept = 0;
+        int tasksRescored = 0;
+        while (true) {
+            List<Long> userIds = userRepository.findIdsAfter(checkpoint.getLastUserId(), PageRequest.of(0, Math.max(1, pageSize)));
+            if (userIds.isEmpty()) {
+                checkpoint.setCompleted(true);
+                saveProgress(checkpoint);
+                log.info("Priority sweep completed: {} users, {} tasks rescored, {} AI calls left in budget",
+                        usersSwept, tasksRescored, budget.get());
+                return;
+            }
+            
+            List<Integer> results = Flux.fromIterable(userIds)
+                    .flatMap(userId -> sweepUser(userId, budget), Math.max(1, parallelism))
+                    .doOnNext(result -> renewLeaseIfDue(leaseRenewedAt))
+                    .collectList()
+                    .block();
+            
+            // The checkpoint only moves past a page once every user on it has been swept;
+            // users already done are cheap to revisit since they no longer have stale tasks
+            if (results == null || results.contains(SKIPPED_FOR_BUDGET)) {
+                log.info("Priority sweep stopped at AI budget of {} calls after user {}; will resume from there",
+                        maxAiCalls, checkpoint.getLastUserId());
+                return;
+            }
+            usersSwept += results.size();
+            tasksRescored += results.stream().mapToInt(Integer::intValue).sum();
+            checkpoint.setLastUserId(userIds.get(userIds.size() - 1));
+            if (!saveProgress(checkpoint)) {
+                return;
+            }
+            leaseRenewedAt.set(System.nanoTime());
+        }
+    }
+    
+    // Also extends the lease; false once the lease has expired and another node has taken over,
+    // in which case this node must stop rather than overwrite that node's progress
+    private boolean saveProgress(SweepCheckpoint checkpoint) {
+        LocalDateTime now = now();
+        boolean held = checkpointRepository.saveProgress(SWEEP_NAME, nodeId, checkpoint.getRunDate(),
+                checkpoint.getLastUserId(), checkpoint.getCompleted(), now, now.plus(lease)) > 0;
+        if (!held) {
+            log.warn("Priority sweep lost its lease to another node after user {}, stopping", checkpoint.getLastUserId());
+        }
+        return held;
+    }
+    
+    // A page can take longer than the lease when users have many stale tasks, so the lease is
+    // extended as users finish rather than only when the checkpoint moves
+    private void renewLeaseIfDue(AtomicLong renewedAt) {
+        long last = renewedAt.get();
+        long nanos = System.nanoTime();
+        if (nanos - last >= lease.toNanos() / 4 && renewedAt.compareAndSet(last, nanos)) {
+            checkpointRepository.renewLease(SWEEP_NAME, nodeId, now().plus(lease));
+        }
+    }
+    
+    private Mono<Integer> sweepUser(Long userId, AtomicInteger budget) {
+        return Mono.fromCallable(() -> aiService.findStalePriorities(userId))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(stale -> {
+                    if (stale.isEmpty()) {
+                        return Mono.just(0);
+                    }
+                    // A backlog bigger than the whole budget would be skipped on every run and pin
+                    // the checkpoint here for good; score what one run can afford and leave the rest
+                    // for the following runs
+                    List<TodoItem> tasks = stale;
+                    int affordable = aiService.maxTasksForGeminiCalls(maxAiCalls);
+                    if (stale.size() > affordable) {
+                        log.info("User {} has {} stale priorities, more than one sweep can afford; rescoring {}",
+                                userId, stale.size(), affordable);
+                        tasks = new ArrayList<>(stale.subList(0, affordable));
+                    }
+                    int cost = aiService.estimateGeminiCalls(tasks.size());
+                    if (budget.addAndGet(-cost) < 0) {
+                        budget.addAndGet(cost);
+                        return Mono.just(SKIPPED_FOR_BUDGET);
+                    }
+                    return aiService.rescorePriorities(userId, tasks);
+                })
+                .onErrorResume(e -> {
+                    log.error("Priority sweep failed for user {}", userId, e);
+                    return Mono.just(0);
+                });
+    }
+    
+    private static LocalDateTime now() {
+        return LocalDateTime.now(ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,32 @@
+package com.taskpilot.intellitask_backend.service;
+
+import com.taskpilot.intellitask_backend.dto.response.TodoItemDto;
+import com.taskpilot.intellitask_backend.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+// Position of the last row on a page; opaque to clients so the sort key can change without an API break
+public record TodoCursor(LocalDateTime createdAt, Long id) {
+    
+    public static TodoCursor of(TodoItemDto item) {
+        return new TodoCursor(item.getCreatedAt(), item.getId());
+    }
+    
+    public String encode() {
+        String raw = createdAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    public static TodoCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf('|');
+            return new TodoCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+}
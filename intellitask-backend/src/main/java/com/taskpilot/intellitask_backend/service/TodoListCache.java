@@ -0,0 +1,131 @@
+package com.taskpilot.intellitask_backend.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.taskpilot.intellitask_backend.dto.response.TodoItemDto;
+import com.taskpilot.intellitask_backend.entity.TodoItem;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+@Component
+@Slf4j
+public class TodoListCache {
+    
+    private static final TypeReference<List<TodoItemDto>> ITEMS = new TypeReference<>() {};
+    
+    private final ObjectMapper objectMapper;
+    private final Cache<Long, CachedList> lists;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder writeThroughs = new LongAdder();
+    
+    public TodoListCache(ObjectMapper objectMapper,
+                         @Value("${todo.list-cache.max-bytes:67108864}") long maxBytes,
+                         @Value("${todo.list-cache.ttl:PT10M}") Duration ttl) {
+        this.objectMapper = objectMapper;
+        // Weighed by serialized size so a few users with thousands of tasks cannot crowd out everyone
+        // else; the ttl only bounds staleness if a version bump is ever lost. A max of 0 turns it off
+        this.lists = maxBytes > 0
+                ? Caffeine.newBuilder()
+                        .maximumWeight(maxBytes)
+                        .weigher((Long userId, CachedList cached) -> cached.json().length)
+                        .expireAfterWrite(ttl)
+                        .recordStats()
+                        .<Long, CachedList>build()
+                : null;
+    }
+    
+    // Returns the list as the JSON GET /api/todo sends, loading it only when the cached copy was
+    // built from a different version of the user's tasks
+    public byte[] get(Long userId, long version, Supplier<List<TodoItemDto>> loader) {
+        CachedList cached = lists != null ? lists.getIfPresent(userId) : null;
+        if (cached != null && cached.version() == version) {
+            hits.increment();
+            return cached.json();
+        }
+        misses.increment();
+        
+        byte[] json = serialize(loader.get());
+        if (lists != null) {
+            // A write-through that finished while we were loading may already hold a newer version
+            lists.asMap().merge(userId, new CachedList(version, json),
+                    (current, loaded) -> current.version() > loaded.version() ? current : loaded);
+        }
+        return json;
+    }
+    
+    // Applies a committed change to the cached list in place of a reload. Only a list built from
+    // exactly the previous version can be patched; anything else missed a write and is dropped
+    public void apply(Long userId, long fromVersion, long toVersion, Consumer<List<TodoItemDto>> change) {
+        if (lists == null) {
+            return;
+        }
+        lists.asMap().computeIfPresent(userId, (id, cached) -> {
+            if (cached.version() != fromVersion) {
+                return null;
+            }
+            try {
+                List<TodoItemDto> items = objectMapper.readValue(cached.json(), ITEMS);
+                change.accept(items);
+                CachedList updated = new CachedList(toVersion, objectMapper.writeValueAsBytes(items));
+                writeThroughs.increment();
+                return updated;
+            } catch (IOException | RuntimeException e) {
+                log.warn("Dropping cached todo list for user {} after a failed write-through", userId, e);
+                return null;
+            }
+        });
+    }
+    
+    public void invalidate(Long userId) {
+        if (lists != null) {
+            lists.invalidate(userId);
+        }
+    }
+    
+    // Replaces the cached copies of these tasks. Changes run after commit, so columns filled in at
+    // flush such as updatedAt are already set on the entities
+    public static Consumer<List<TodoItemDto>> refreshing(Map<Long, TodoItem> tasks) {
+        return items -> items.replaceAll(item -> {
+            TodoItem task = tasks.get(item.getId());
+            return task != null ? TodoService.mapToDto(task) : item;
+        });
+    }
+    
+    public Map<String, Object> stats() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("size", lists != null ? lists.estimatedSize() : 0L);
+        result.put("bytes", lists != null
+                ? lists.policy().eviction().map(eviction -> eviction.weightedSize().orElse(0L)).orElse(0L)
+                : 0L);
+        result.put("hits", hits.sum());
+        result.put("misses", misses.sum());
+        result.put("writeThroughs", writeThroughs.sum());
+        result.put("evictions", lists != null ? lists.stats().evictionCount() : 0L);
+        return result;
+    }
+    
+    private byte[] serialize(List<TodoItemDto> items) {
+        try {
+            return objectMapper.writeValueAsBytes(items);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize todo list", e);
+        }
+    }
+    
+    private record CachedList(long version, byte[] json) {
+    }
+}
@@ -1,7 +1,12 @@
 package com.taskpilot.intellitask_backend.service;
 
+import com.taskpilot.intellitask_backend.dto.request.BulkTodoOperation;
+import com.taskpilot.intellitask_backend.dto.request.BulkTodoRequest;
 import com.taskpilot.intellitask_backend.dto.request.CreateTodoRequest;
+import com.taskpilot.intellitask_backend.dto.response.BulkTodoResponse;
+import com.taskpilot.intellitask_backend.dto.response.PriorityStatusResponse;
 import com.taskpilot.intellitask_backend.dto.response.TodoItemDto;
+import com.taskpilot.intellitask_backend.dto.response.TodoPageResponse;
 import com.taskpilot.intellitask_backend.entity.TodoItem;
 import com.taskpilot.intellitask_backend.entity.User;
 import com.taskpilot.intellitask_backend.exception.BadRequestException;
@@ -10,20 +15,41 @@ import com.taskpilot.intellitask_backend.repository.TodoItemRepository;
 import com.taskpilot.intellitask_backend.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class TodoService {
     
+    // Medium priority shown until the background scorer fills in the real one
+    private static final int PROVISIONAL_PRIORITY = 3;
+    
     private final TodoItemRepository todoItemRepository;
     private final UserRepository userRepository;
-    private final AIService aiService;
+    private final AiJobService aiJobService;
+    private final TodoVersionTracker todoVersionTracker;
+    private final TodoListCache todoListCache;
+    
+    @Value("${todo.page.default-size:50}")
+    private int defaultPageSize;
+    
+    @Value("${todo.page.max-size:200}")
+    private int maxPageSize;
+    
+    @Value("${todo.bulk.max-operations:500}")
+    private int maxBulkOperations;
     
     @Transactional
     public TodoItemDto createTodo(Long userId, CreateTodoRequest request) {
@@ -34,26 +60,116 @@ public class TodoService {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
         
-        // Generate AI priority for the new task
-        Integer aiPriority = aiService.generateTaskPriority(request.getTask().trim(), request.getDate());
+        TodoItem todoItem = newTodo(user, request.getTask(), request.getDate());
+        todoVersionTracker.bump(userId, items -> items.add(0, mapToDto(todoItem)));
+        todoItemRepository.save(todoItem);
         
-        TodoItem todoItem = new TodoItem();
-        todoItem.setTask(request.getTask().trim());
-        todoItem.setDate(request.getDate());
-        todoItem.setUser(user);
-        todoItem.setAiPriority(aiPriority);
-        todoItem.setCompleted(false);
-        
-        todoItem = todoItemRepository.save(todoItem);
+        // AI priority is scored by whichever node's job worker claims this first
+        aiJobService.enqueueScoreTask(userId, todoItem.getId());
         
         return mapToDto(todoItem);
     }
     
-    public List<TodoItemDto> getUserTodos(Long userId) {
-        List<TodoItem> todoItems = todoItemRepository.findByUserIdOrderByCreatedAtDesc(userId);
-        return todoItems.stream()
-                .map(this::mapToDto)
-                .collect(Collectors.toList());
+    @Transactional
+    public BulkTodoResponse applyBulk(Long userId, BulkTodoRequest request) {
+        List<BulkTodoOperation> operations = request.getOperations();
+        if (operations.size() > maxBulkOperations) {
+            throw new BadRequestException("At most " + maxBulkOperations + " operations per request");
+        }
+        
+        List<BulkTodoOperation> creates = new ArrayList<>();
+        Set<Long> complete = new LinkedHashSet<>();
+        Set<Long> uncomplete = new LinkedHashSet<>();
+        Set<Long> delete = new LinkedHashSet<>();
+        for (BulkTodoOperation operation : operations) {
+            switch (operation.getType()) {
+                case CREATE -> {
+                    if (operation.getTask() == null || operation.getTask().trim().isEmpty()) {
+                        throw new BadRequestException("Task name is required");
+                    }
+                    creates.add(operation);
+                }
+                // The later of two conflicting completion operations on one id wins
+                case COMPLETE -> {
+                    uncomplete.remove(requireId(operation));
+                    complete.add(operation.getId());
+                }
+                case UNCOMPLETE -> {
+                    complete.remove(requireId(operation));
+                    uncomplete.add(operation.getId());
+                }
+                case DELETE -> delete.add(requireId(operation));
+            }
+        }
+        
+        List<TodoItemDto> created = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+        // Bumped before any write even if nothing ends up changing; the change reads the final sets
+        todoVersionTracker.bump(userId, items -> {
+            created.forEach(item -> items.add(0, item));
+            items.removeIf(item -> delete.contains(item.getId()));
+            for (TodoItemDto item : items) {
+                if (complete.contains(item.getId()) || uncomplete.contains(item.getId())) {
+                    item.setCompleted(complete.contains(item.getId()));
+                    item.setUpdatedAt(now);
+                }
+            }
+        });
+        
+        if (!creates.isEmpty()) {
+            User user = userRepository.findById(userId)
+                    .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+            List<TodoItem> todoItems = new ArrayList<>(creates.size());
+            for (BulkTodoOperation operation : creates) {
+                todoItems.add(newTodo(user, operation.getTask(), operation.getDate()));
+            }
+            // Pooled ids are assigned here; the inserts go out as JDBC batches at flush
+            todoItems = todoItemRepository.saveAll(todoItems);
+            aiJobService.enqueueScoreTasks(userId, todoItems.stream().map(TodoItem::getId).toList());
+            todoItems.forEach(todoItem -> created.add(mapToDto(todoItem)));
+        }
+        
+        // Deletes win over completion changes, so they are not updated first
+        complete.removeAll(delete);
+        uncomplete.removeAll(delete);
+        int completed = complete.isEmpty() ? 0 : todoItemRepository.updateCompleted(userId, complete, true, now);
+        int uncompleted = uncomplete.isEmpty() ? 0 : todoItemRepository.updateCompleted(userId, uncomplete, false, now);
+        int deleted = delete.isEmpty() ? 0 : todoItemRepository.deleteByUserIdAndIds(userId, delete);
+        return new BulkTodoResponse(created, completed, uncompleted, deleted);
+    }
+    
+    // readOnly also puts the Hibernate session in FlushMode.MANUAL, so reads never trigger a flush.
+    // Returns the serialized list; the version is read first, so a list loaded after it is at least
+    // as new as the version it gets cached under
+    @Transactional(readOnly = true)
+    public byte[] getUserTodosJson(Long userId) {
+        long version = userRepository.findTodoVersion(userId).orElse(0L);
+        return todoListCache.get(userId, version, () -> todoItemRepository.findDtosByUserId(userId));
+    }
+    
+    @Transactional(readOnly = true)
+    public TodoPageResponse getUserTodoPage(Long userId, String cursor, Integer limit) {
+        int pageSize = limit == null ? defaultPageSize : Math.max(1, Math.min(limit, maxPageSize));
+        // One extra row tells us whether another page exists without a count query
+        PageRequest pageRequest = PageRequest.of(0, pageSize + 1);
+        List<TodoItemDto> items;
+        if (cursor == null || cursor.isBlank()) {
+            items = todoItemRepository.findFirstPage(userId, pageRequest);
+        } else {
+            TodoCursor after = TodoCursor.decode(cursor);
+            items = todoItemRepository.findPageAfter(userId, after.createdAt(), after.id(), pageRequest);
+        }
+        
+        boolean hasMore = items.size() > pageSize;
+        List<TodoItemDto> page = hasMore ? items.subList(0, pageSize) : items;
+        String nextCursor = hasMore ? TodoCursor.of(page.get(page.size() - 1)).encode() : null;
+        return new TodoPageResponse(page, nextCursor);
+    }
+    
+    @Transactional(readOnly = true)
+    public PriorityStatusResponse getPriorityStatus(Long userId, Long todoId) {
+        return todoItemRepository.findPriorityStatus(todoId, userId)
+                .orElseThrow(() -> new ResourceNotFoundException("Task not found"));
     }
     
     @Transactional
@@ -61,6 +177,7 @@ public class TodoService {
         TodoItem todoItem = todoItemRepository.findByIdAndUserId(todoId, userId)
                 .orElseThrow(() -> new ResourceNotFoundException("Task not found"));
         
+        todoVersionTracker.bump(userId, items -> items.removeIf(item -> item.getId().equals(todoId)));
         todoItemRepository.delete(todoItem);
     }
     
@@ -68,6 +185,7 @@ public class TodoService {
     public TodoItemDto toggleCompletion(Long userId, Long todoId, Boolean completed) {
         TodoItem todoItem = todoItemRepository.findByIdAndUserId(todoId, userId)
                 .orElseThrow(() -> new ResourceNotFoundException("Task not found"));
+        todoVersionTracker.bump(userId, TodoListCache.refreshing(Map.of(todoId, todoItem)));
         
         if (completed != null) {
             todoItem.setCompleted(completed);
@@ -79,13 +197,33 @@ public class TodoService {
         return mapToDto(todoItem);
     }
     
-    private TodoItemDto mapToDto(TodoItem todoItem) {
+    private TodoItem newTodo(User user, String task, LocalDate date) {
+        TodoItem todoItem = new TodoItem();
+        todoItem.setTask(task.trim());
+        todoItem.setDate(date);
+        todoItem.setUser(user);
+        todoItem.setAiPriority(PROVISIONAL_PRIORITY);
+        todoItem.setAiPriorityPending(true);
+        todoItem.setCompleted(false);
+        return todoItem;
+    }
+    
+    private static Long requireId(BulkTodoOperation operation) {
+        if (operation.getId() == null) {
+            throw new BadRequestException("Task id is required for " + operation.getType());
+        }
+        return operation.getId();
+    }
+    
+    static TodoItemDto mapToDto(TodoItem todoItem) {
         return TodoItemDto.builder()
                 .id(todoItem.getId())
                 .name(todoItem.getTask())
                 .dueDate(todoItem.getDate())
                 .completed(todoItem.getCompleted())
                 .aiPriority(todoItem.getAiPriority())
+                .aiPriorityPending(Boolean.TRUE.equals(todoItem.getAiPriorityPending()))
+                .aiPriorityEngine(todoItem.getAiPriorityEngine())
                 .createdAt(todoItem.getCreatedAt())
                 .updatedAt(todoItem.getUpdatedAt())
                 .build();
@@ -0,0 +1,64 @@
+package com.taskpilot.intellitask_backend.service;
+
+import com.taskpilot.intellitask_backend.dto.response.TodoItemDto;
+import com.taskpilot.intellitask_backend.repository.UserRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+@Component
+public class TodoVersionTracker {
+    
+    private final UserRepository userRepository;
+    private final TodoListCache todoListCache;
+    private final TransactionTemplate transactionTemplate;
+    
+    public TodoVersionTracker(UserRepository userRepository,
+                              TodoListCache todoListCache,
+                              TransactionTemplate transactionTemplate) {
+        this.userRepository = userRepository;
+        this.todoListCache = todoListCache;
+        this.transactionTemplate = transactionTemplate;
+    }
+    
+    public void bump(Long userId) {
+        bump(userId, null);
+    }
+    
+    // Call before the transaction touches any of the user's tasks: inserting a task takes a shared
+    // lock on the user row for its foreign key, and upgrading that to bump the version could
+    // deadlock two concurrent writers. The change patches the cached task list after commit;
+    // without one the list is reloaded on the next read
+    public void bump(Long userId, Consumer<List<TodoItemDto>> change) {
+        // Joins the caller's transaction, so other replicas see the shared version move exactly
+        // when the rows do
+        Long version = transactionTemplate.execute(status -> {
+            userRepository.incrementTodoVersion(userId);
+            return userRepository.findTodoVersion(userId).orElse(null);
+        });
+        
+        // The cached list is only patched once the change is visible to other readers
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publish(userId, version, change);
+                }
+            });
+        } else {
+            publish(userId, version, change);
+        }
+    }
+    
+    private void publish(Long userId, Long version, Consumer<List<TodoItemDto>> change) {
+        if (version == null || change == null) {
+            todoListCache.invalidate(userId);
+        } else {
+            todoListCache.apply(userId, version - 1, version, change);
+        }
+    }
+}
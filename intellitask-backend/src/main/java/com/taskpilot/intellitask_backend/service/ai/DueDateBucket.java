@@ -0,0 +1,47 @@
+package com.taskpilot.intellitask_backend.service.ai;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+
+// Coarse days-until-due ranges: priority prompts only care about how close a
+// due date is, so tasks in the same bucket are scored the same way
+public enum DueDateBucket {
+    NO_DUE_DATE(Long.MIN_VALUE, Long.MAX_VALUE),
+    OVERDUE(Long.MIN_VALUE, -1),
+    TODAY(0, 0),
+    TOMORROW(1, 1),
+    WITHIN_3_DAYS(2, 3),
+    WITHIN_WEEK(4, 7),
+    WITHIN_2_WEEKS(8, 14),
+    WITHIN_MONTH(15, 30),
+    LATER(31, Long.MAX_VALUE);
+    
+    private final long minDays;
+    private final long maxDays;
+    
+    DueDateBucket(long minDays, long maxDays) {
+        this.minDays = minDays;
+        this.maxDays = maxDays;
+    }
+    
+    public static DueDateBucket of(LocalDate dueDate, LocalDate today) {
+        if (dueDate == null) {
+            return NO_DUE_DATE;
+        }
+        long days = ChronoUnit.DAYS.between(today, dueDate);
+        for (DueDateBucket bucket : values()) {
+            if (bucket != NO_DUE_DATE && days >= bucket.minDays && days <= bucket.maxDays) {
+                return bucket;
+            }
+        }
+        return LATER;
+    }
+    
+    // First day on which a task due on dueDate falls into a different bucket; null if never
+    public LocalDate nextChangeDate(LocalDate dueDate) {
+        if (dueDate == null || this == NO_DUE_DATE || this == OVERDUE) {
+            return null;
+        }
+        return dueDate.minusDays(minDays - 1);
+    }
+}
@@ -0,0 +1,165 @@
+package com.taskpilot.intellitask_backend.service.ai;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Component
+@Slf4j
+public class GeminiCircuitBreaker {
+    
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+    
+    private final int minimumCalls;
+    private final int failureRateThreshold;
+    private final long slowCallNanos;
+    private final long openDurationNanos;
+    private final int halfOpenCalls;
+    
+    // Count-based sliding window over the most recent calls while closed
+    private final boolean[] window;
+    private int windowIndex;
+    private int windowCalls;
+    private int windowFailures;
+    
+    private State state = State.CLOSED;
+    private long openedAtNanos;
+    private int halfOpenInFlight;
+    private int halfOpenSuccesses;
+    private long rejectedCount;
+    
+    public GeminiCircuitBreaker(@Value("${ai.breaker.window-size:20}") int windowSize,
+                                @Value("${ai.breaker.minimum-calls:10}") int minimumCalls,
+                                @Value("${ai.breaker.failure-rate-threshold:50}") int failureRateThreshold,
+                                @Value("${ai.breaker.slow-call-threshold:PT4S}") Duration slowCallThreshold,
+                                @Value("${ai.breaker.open-duration:PT30S}") Duration openDuration,
+                                @Value("${ai.breaker.half-open-calls:3}") int halfOpenCalls) {
+        this.window = new boolean[windowSize];
+        this.minimumCalls = Math.min(minimumCalls, windowSize);
+        this.failureRateThreshold = failureRateThreshold;
+        this.slowCallNanos = slowCallThreshold.toNanos();
+        this.openDurationNanos = openDuration.toNanos();
+        this.halfOpenCalls = halfOpenCalls;
+    }
+    
+    // Returns null while the circuit is rejecting calls. The handle reports the call's outcome at
+    // most once, so a cancel that reaches both the permit wait and the call frees one half-open slot
+    public synchronized Call tryAcquire() {
+        if (state == State.OPEN) {
+            if (System.nanoTime() - openedAtNanos < openDurationNanos) {
+                rejectedCount++;
+                return null;
+            }
+            state = State.HALF_OPEN;
+            halfOpenInFlight = 0;
+            halfOpenSuccesses = 0;
+            log.info("Gemini circuit half-open, allowing {} trial calls", halfOpenCalls);
+        }
+        if (state == State.HALF_OPEN) {
+            if (halfOpenInFlight >= halfOpenCalls) {
+                rejectedCount++;
+                return null;
+            }
+            halfOpenInFlight++;
+        }
+        return new Call();
+    }
+    
+    public synchronized State getState() {
+        return state;
+    }
+    
+    public synchronized Map<String, Object> stats() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("state", state);
+        result.put("windowCalls", windowCalls);
+        result.put("windowFailures", windowFailures);
+        result.put("rejected", rejectedCount);
+        return result;
+    }
+    
+    private synchronized void notExecuted() {
+        if (state == State.HALF_OPEN && halfOpenInFlight > 0) {
+            halfOpenInFlight--;
+        }
+    }
+    
+    private synchronized void record(boolean failed) {
+        if (state == State.HALF_OPEN) {
+            halfOpenInFlight = Math.max(0, halfOpenInFlight - 1);
+            if (failed) {
+                open();
+            } else if (++halfOpenSuccesses >= halfOpenCalls) {
+                close();
+            }
+            return;
+        }
+        if (state == State.OPEN) {
+            return;
+        }
+        
+        if (windowCalls == window.length) {
+            if (window[windowIndex]) {
+                windowFailures--;
+            }
+        } else {
+            windowCalls++;
+        }
+        window[windowIndex] = failed;
+        if (failed) {
+            windowFailures++;
+        }
+        windowIndex = (windowIndex + 1) % window.length;
+        
+        if (windowCalls >= minimumCalls && windowFailures * 100 >= failureRateThreshold * windowCalls) {
+            open();
+        }
+    }
+    
+    private void open() {
+        state = State.OPEN;
+        openedAtNanos = System.nanoTime();
+        log.warn("Gemini circuit opened after {} failures in {} calls; using heuristic scoring for {} s",
+                windowFailures, windowCalls, openDurationNanos / 1_000_000_000L);
+    }
+    
+    private void close() {
+        state = State.CLOSED;
+        windowIndex = 0;
+        windowCalls = 0;
+        windowFailures = 0;
+        log.info("Gemini circuit closed");
+    }
+    
+    public final class Call {
+        
+        private final AtomicBoolean settled = new AtomicBoolean();
+        
+        public void onSuccess(long durationNanos) {
+            // Calls that succeed only after an outage-length wait still count against the upstream
+            if (settled.compareAndSet(false, true)) {
+                record(durationNanos > slowCallNanos);
+            }
+        }
+        
+        public void onFailure() {
+            if (settled.compareAndSet(false, true)) {
+                record(true);
+            }
+        }
+        
+        // A permitted call that never reached Gemini (e.g. shed by the rate limiter)
+        public void onNotExecuted() {
+            if (settled.compareAndSet(false, true)) {
+                notExecuted();
+            }
+        }
+    }
+}
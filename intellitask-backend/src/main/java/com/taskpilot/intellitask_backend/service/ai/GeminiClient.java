@@ -0,0 +1,137 @@
+package com.taskpilot.intellitask_backend.service.ai;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+@Component
+public class GeminiClient {
+    
+    // The request body is always {"contents":[{"parts":[{"text":<prompt>}]}]}, so only the
+    // escaped prompt is encoded per call and spliced between these fixed byte sequences
+    private static final byte[] REQUEST_PREFIX = "{\"contents\":[{\"parts\":[{\"text\":\"".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] REQUEST_SUFFIX = "\"}]}]}".getBytes(StandardCharsets.UTF_8);
+    
+    private static final ParameterizedTypeReference<ServerSentEvent<String>> SSE_TYPE =
+            new ParameterizedTypeReference<>() {};
+    
+    private final WebClient webClient;
+    private final JsonFactory jsonFactory;
+    private final URI generateUri;
+    private final URI streamUri;
+    private final Duration timeout;
+    
+    public GeminiClient(WebClient webClient,
+                        ObjectMapper objectMapper,
+                        @Value("${gemini.api.key}") String apiKey,
+                        @Value("${gemini.api.url}") String apiUrl,
+                        @Value("${gemini.api.stream-url}") String streamUrl,
+                        @Value("${gemini.api.timeout:PT10S}") Duration timeout) {
+        this.webClient = webClient;
+        this.jsonFactory = objectMapper.getFactory();
+        this.generateUri = URI.create(apiUrl + "?key=" + apiKey);
+        this.streamUri = URI.create(streamUrl + "?alt=sse&key=" + apiKey);
+        this.timeout = timeout;
+    }
+    
+    public Mono<String> generate(String prompt) {
+        return webClient.post()
+                .uri(generateUri)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(encodeRequest(prompt))
+                .retrieve()
+                .bodyToMono(DataBuffer.class)
+                .timeout(timeout)
+                .map(this::readResponseText);
+    }
+    
+    public Flux<String> stream(String prompt) {
+        return webClient.post()
+                .uri(streamUri)
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .bodyValue(encodeRequest(prompt))
+                .retrieve()
+                .bodyToFlux(SSE_TYPE)
+                // Applies between chunks, so a stalled stream fails without capping total length
+                .timeout(timeout)
+                .mapNotNull(ServerSentEvent::data)
+                .map(this::readChunkText);
+    }
+    
+    static byte[] encodeRequest(String prompt) {
+        byte[] text = JsonStringEncoder.getInstance().quoteAsUTF8(prompt);
+        byte[] body = new byte[REQUEST_PREFIX.length + text.length + REQUEST_SUFFIX.length];
+        System.arraycopy(REQUEST_PREFIX, 0, body, 0, REQUEST_PREFIX.length);
+        System.arraycopy(text, 0, body, REQUEST_PREFIX.length, text.length);
+        System.arraycopy(REQUEST_SUFFIX, 0, body, REQUEST_PREFIX.length + text.length, REQUEST_SUFFIX.length);
+        return body;
+    }
+    
+    // Walks to candidates[0].content.parts[0].text, skipping every other subtree without
+    // materializing it; returns null when the path is absent
+    static String readText(JsonParser parser) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT
+                || !seekField(parser, "candidates") || parser.nextToken() != JsonToken.START_ARRAY
+                || parser.nextToken() != JsonToken.START_OBJECT
+                || !seekField(parser, "content") || parser.nextToken() != JsonToken.START_OBJECT
+                || !seekField(parser, "parts") || parser.nextToken() != JsonToken.START_ARRAY
+                || parser.nextToken() != JsonToken.START_OBJECT
+                || !seekField(parser, "text") || parser.nextToken() != JsonToken.VALUE_STRING) {
+            return null;
+        }
+        return parser.getText();
+    }
+    
+    private static boolean seekField(JsonParser parser, String name) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            if (name.equals(parser.currentName())) {
+                return true;
+            }
+            parser.nextToken();
+            parser.skipChildren();
+        }
+        return false;
+    }
+    
+    private String readResponseText(DataBuffer buffer) {
+        String text;
+        try (InputStream body = buffer.asInputStream(true);
+             JsonParser parser = jsonFactory.createParser(body)) {
+            text = readText(parser);
+        } catch (IOException e) {
+            throw new IllegalStateException("Unexpected Gemini response", e);
+        }
+        if (text == null) {
+            throw new IllegalStateException("Unexpected Gemini response: no candidate text");
+        }
+        return text;
+    }
+    
+    private String readChunkText(String chunk) {
+        // The final stream chunk may carry only a finish reason and no text
+        try (JsonParser parser = jsonFactory.createParser(chunk)) {
+            String text = readText(parser);
+            return text != null ? text : "";
+        } catch (IOException e) {
+            throw new IllegalStateException("Unexpected Gemini stream chunk", e);
+        }
+    }
+}
@@ -0,0 +1,265 @@
+package com.taskpilot.intellitask_backend.service.ai;
+
+import com.taskpilot.intellitask_backend.exception.ServiceUnavailableException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Component
+@Slf4j
+public class GeminiRateLimiter {
+    
+    // Token bucket caps the request rate, an AIMD limit caps concurrency; callers
+    // queue FIFO for up to max-wait and are shed after that
+    private static final long DECREASE_COOLDOWN_NANOS = TimeUnit.SECONDS.toNanos(1);
+    
+    private final double permitsPerSecond;
+    private final double burst;
+    private final double minConcurrency;
+    private final double maxConcurrency;
+    private final long maxWaitNanos;
+    private final int maxQueue;
+    
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Deque<Waiter> waiters = new ArrayDeque<>();
+    private final ScheduledThreadPoolExecutor scheduler;
+    private final AtomicLong shedCount = new AtomicLong();
+    private final AtomicLong backpressureCount = new AtomicLong();
+    
+    // Guarded by lock
+    private double tokens;
+    private long lastRefillNanos;
+    private double concurrencyLimit;
+    private int inFlight;
+    private long lastDecreaseNanos;
+    private boolean refillScheduled;
+    
+    public GeminiRateLimiter(@Value("${ai.limiter.permits-per-second:10}") double permitsPerSecond,
+                             @Value("${ai.limiter.burst:20}") double burst,
+                             @Value("${ai.limiter.initial-concurrency:8}") double initialConcurrency,
+                             @Value("${ai.limiter.min-concurrency:1}") double minConcurrency,
+                             @Value("${ai.limiter.max-concurrency:64}") double maxConcurrency,
+                             @Value("${ai.limiter.max-wait:PT2S}") Duration maxWait,
+                             @Value("${ai.limiter.max-queue:500}") int maxQueue) {
+        this.permitsPerSecond = permitsPerSecond;
+        this.burst = burst;
+        this.minConcurrency = minConcurrency;
+        this.maxConcurrency = maxConcurrency;
+        this.maxWaitNanos = maxWait.toNanos();
+        this.maxQueue = maxQueue;
+        this.tokens = burst;
+        this.lastRefillNanos = System.nanoTime();
+        this.concurrencyLimit = Math.max(minConcurrency, Math.min(maxConcurrency, initialConcurrency));
+        this.scheduler = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "gemini-limiter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.scheduler.setRemoveOnCancelPolicy(true);
+    }
+    
+    public static boolean isBackpressure(HttpStatusCode status) {
+        return status.value() == 429 || status.is5xxServerError();
+    }
+    
+    public CompletableFuture<Permit> acquire() {
+        Waiter waiter = new Waiter(new CompletableFuture<>());
+        List<Runnable> granted;
+        lock.lock();
+        try {
+            if (waiters.size() >= maxQueue) {
+                shedCount.incrementAndGet();
+                waiter.future.completeExceptionally(
+                        new ServiceUnavailableException("AI service is busy, please try again shortly"));
+                return waiter.future;
+            }
+            waiters.addLast(waiter);
+            granted = dispatch();
+        } finally {
+            lock.unlock();
+        }
+        granted.forEach(Runnable::run);
+        
+        if (!waiter.future.isDone()) {
+            ScheduledFuture<?> timeout = scheduler.schedule(() -> expire(waiter), maxWaitNanos, TimeUnit.NANOSECONDS);
+            waiter.future.whenComplete((permit, error) -> timeout.cancel(false));
+        }
+        return waiter.future;
+    }
+    
+    public Permit acquireBlocking() {
+        CompletableFuture<Permit> future = acquire();
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(false);
+            throw new ServiceUnavailableException("Interrupted while waiting for AI capacity");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+    
+    public Map<String, Object> stats() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        lock.lock();
+        try {
+            refill();
+            result.put("queueDepth", waiters.size());
+            result.put("permitsInUse", inFlight);
+            result.put("concurrencyLimit", concurrencyLimit);
+            result.put("availableTokens", tokens);
+        } finally {
+            lock.unlock();
+        }
+        result.put("shed", shedCount.get());
+        result.put("backpressureSignals", backpressureCount.get());
+        return result;
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+    
+    // Must hold lock; returns completions to run after the lock is released
+    private List<Runnable> dispatch() {
+        refill();
+        List<Runnable> granted = new ArrayList<>();
+        while (!waiters.isEmpty() && inFlight < effectiveLimit() && tokens >= 1) {
+            Waiter waiter = waiters.pollFirst();
+            tokens -= 1;
+            inFlight++;
+            Permit permit = new Permit();
+            granted.add(() -> {
+                // The caller may have given up (cancelled) while the permit was being granted
+                if (!waiter.future.complete(permit)) {
+                    permit.release(Signal.IGNORED);
+                }
+            });
+        }
+        
+        if (!waiters.isEmpty() && inFlight < effectiveLimit() && !refillScheduled) {
+            // Blocked on the bucket rather than concurrency: wake up when the next token lands
+            long delayNanos = (long) ((1 - tokens) / permitsPerSecond * TimeUnit.SECONDS.toNanos(1));
+            refillScheduled = true;
+            scheduler.schedule(this::onRefill, Math.max(delayNanos, TimeUnit.MILLISECONDS.toNanos(1)), TimeUnit.NANOSECONDS);
+        }
+        return granted;
+    }
+    
+    private void onRefill() {
+        List<Runnable> granted;
+        lock.lock();
+        try {
+            refillScheduled = false;
+            granted = dispatch();
+        } finally {
+            lock.unlock();
+        }
+        granted.forEach(Runnable::run);
+    }
+    
+    private void expire(Waiter waiter) {
+        boolean removed;
+        lock.lock();
+        try {
+            removed = waiters.remove(waiter);
+        } finally {
+            lock.unlock();
+        }
+        if (removed) {
+            shedCount.incrementAndGet();
+            log.warn("Shedding Gemini request after waiting {} ms for capacity", TimeUnit.NANOSECONDS.toMillis(maxWaitNanos));
+            waiter.future.completeExceptionally(
+                    new ServiceUnavailableException("AI service is busy, please try again shortly"));
+        }
+    }
+    
+    private void release(Signal signal) {
+        List<Runnable> granted;
+        lock.lock();
+        try {
+            inFlight--;
+            long now = System.nanoTime();
+            if (signal == Signal.BACKPRESSURE) {
+                backpressureCount.incrementAndGet();
+                // Many in-flight calls fail together on a 429 storm; halve once per cooldown
+                if (now - lastDecreaseNanos > DECREASE_COOLDOWN_NANOS) {
+                    concurrencyLimit = Math.max(minConcurrency, concurrencyLimit / 2);
+                    tokens = Math.min(tokens, 0);
+                    lastDecreaseNanos = now;
+                    log.warn("Gemini backpressure, concurrency limit reduced to {}", concurrencyLimit);
+                }
+            } else if (signal == Signal.SUCCESS) {
+                concurrencyLimit = Math.min(maxConcurrency, concurrencyLimit + 1 / concurrencyLimit);
+            }
+            granted = dispatch();
+        } finally {
+            lock.unlock();
+        }
+        granted.forEach(Runnable::run);
+    }
+    
+    private void refill() {
+        long now = System.nanoTime();
+        double elapsedSeconds = (now - lastRefillNanos) / (double) TimeUnit.SECONDS.toNanos(1);
+        tokens = Math.min(burst, tokens + elapsedSeconds * permitsPerSecond);
+        lastRefillNanos = now;
+    }
+    
+    private int effectiveLimit() {
+        return Math.max(1, (int) concurrencyLimit);
+    }
+    
+    private enum Signal {
+        SUCCESS, BACKPRESSURE, IGNORED
+    }
+    
+    private record Waiter(CompletableFuture<Permit> future) {
+    }
+    
+    public final class Permit {
+        
+        private final AtomicBoolean released = new AtomicBoolean();
+        
+        public void onSuccess() {
+            release(Signal.SUCCESS);
+        }
+        
+        public void onBackpressure() {
+            release(Signal.BACKPRESSURE);
+        }
+        
+        public void onIgnored() {
+            release(Signal.IGNORED);
+        }
+        
+        private void release(Signal signal) {
+            if (released.compareAndSet(false, true)) {
+                GeminiRateLimiter.this.release(signal);
+            }
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.taskpilot.intellitask_backend.service.ai;
+
+import com.taskpilot.intellitask_backend.entity.PriorityEngine;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+// Local stand-in for Gemini when it is unavailable; scores on the same criteria
+// the priority prompt asks the model to consider
+@Component
+public class HeuristicPriorityEngine {
+    
+    private static final Pattern WORD_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    
+    private static final Set<String> URGENT_KEYWORDS = Set.of(
+            "urgent", "asap", "deadline", "important", "critical", "immediately",
+            "emergency", "overdue", "due", "now", "today", "tonight", "priority"
+    );
+    
+    private static final Set<String> ROUTINE_KEYWORDS = Set.of(
+            "someday", "maybe", "routine", "whenever", "optional", "later", "eventually", "idea"
+    );
+    
+    public PriorityScore score(String task, LocalDate dueDate) {
+        int priority = switch (DueDateBucket.of(dueDate, LocalDate.now())) {
+            case OVERDUE, TODAY -> 5;
+            case TOMORROW, WITHIN_3_DAYS -> 4;
+            case WITHIN_WEEK -> 3;
+            case WITHIN_2_WEEKS, WITHIN_MONTH, NO_DUE_DATE -> 2;
+            case LATER -> 1;
+        };
+        
+        boolean urgent = false;
+        boolean routine = false;
+        for (String word : WORD_SEPARATOR.split(task.toLowerCase(Locale.ROOT))) {
+            urgent |= URGENT_KEYWORDS.contains(word);
+            routine |= ROUTINE_KEYWORDS.contains(word);
+        }
+        if (urgent) {
+            priority = Math.max(priority + 1, 4);
+        } else if (routine) {
+            priority -= 1;
+        }
+        
+        return new PriorityScore(Math.max(1, Math.min(5, priority)), PriorityEngine.HEURISTIC);
+    }
+}
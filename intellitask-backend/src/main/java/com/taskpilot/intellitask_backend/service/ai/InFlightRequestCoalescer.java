@@ -0,0 +1,73 @@
+package com.taskpilot.intellitask_backend.service.ai;
+
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+@Component
+public class InFlightRequestCoalescer {
+    
+    private final ConcurrentHashMap<String, CompletableFuture<String>> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong upstreamCalls = new AtomicLong();
+    private final AtomicLong coalescedCalls = new AtomicLong();
+    
+    public Mono<String> execute(String prompt, Supplier<Mono<String>> call) {
+        return Mono.defer(() -> {
+            String key = hash(prompt);
+            CompletableFuture<String> future = new CompletableFuture<>();
+            CompletableFuture<String> existing = inFlight.putIfAbsent(key, future);
+            if (existing != null) {
+                coalescedCalls.incrementAndGet();
+                return Mono.fromFuture(existing, true);
+            }
+            
+            upstreamCalls.incrementAndGet();
+            // Subscribed independently of any one caller, so a caller that cancels does not
+            // abort the call for the others. The entry is removed before completion so
+            // late arrivals start a fresh call instead of reusing a finished result.
+            call.get().subscribe(
+                    value -> {
+                        inFlight.remove(key, future);
+                        future.complete(value);
+                    },
+                    error -> {
+                        inFlight.remove(key, future);
+                        future.completeExceptionally(error);
+                    },
+                    () -> {
+                        if (!future.isDone()) {
+                            inFlight.remove(key, future);
+                            future.completeExceptionally(new IllegalStateException("Gemini call completed without a result"));
+                        }
+                    });
+            return Mono.fromFuture(future, true);
+        });
+    }
+    
+    public Map<String, Object> stats() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("inFlight", inFlight.size());
+        result.put("upstreamCalls", upstreamCalls.get());
+        result.put("coalescedCalls", coalescedCalls.get());
+        return result;
+    }
+    
+    private static String hash(String prompt) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(prompt.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
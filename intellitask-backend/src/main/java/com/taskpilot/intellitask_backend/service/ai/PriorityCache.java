@@ -0,0 +1,55 @@
+package com.taskpilot.intellitask_backend.service.ai;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+@Component
+public class PriorityCache {
+    
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    
+    private final Cache<String, Integer> cache;
+    
+    public PriorityCache(@Value("${ai.priority.cache.max-size:10000}") long maxSize,
+                         @Value("${ai.priority.cache.ttl:PT12H}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+    
+    public Integer get(String task, LocalDate dueDate) {
+        return cache.getIfPresent(key(task, dueDate, LocalDate.now()));
+    }
+    
+    public void put(String task, LocalDate dueDate, Integer priority) {
+        cache.put(key(task, dueDate, LocalDate.now()), priority);
+    }
+    
+    public Map<String, Object> stats() {
+        CacheStats stats = cache.stats();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("size", cache.estimatedSize());
+        result.put("hits", stats.hitCount());
+        result.put("misses", stats.missCount());
+        result.put("evictions", stats.evictionCount());
+        result.put("hitRate", stats.hitRate());
+        return result;
+    }
+    
+    static String key(String task, LocalDate dueDate, LocalDate today) {
+        String normalized = WHITESPACE.matcher(task.trim().toLowerCase(Locale.ROOT)).replaceAll(" ");
+        return DueDateBucket.of(dueDate, today) + "|" + normalized;
+    }
+}
@@ -0,0 +1,6 @@
+package com.taskpilot.intellitask_backend.service.ai;
+
+import com.taskpilot.intellitask_backend.entity.PriorityEngine;
+
+public record PriorityScore(int priority, PriorityEngine engine) {
+}
@@ -0,0 +1,26 @@
+package com.taskpilot.intellitask_backend.service.ai;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDate;
+import java.util.HexFormat;
+
+// Everything a priority prompt depends on. A stored score stays valid until the text,
+// the days-until-due bucket (tracked through expiresOn) or the prompt version changes.
+public record ScoringFingerprint(String textHash, DueDateBucket dueBucket, LocalDate expiresOn, int promptVersion) {
+    
+    public static ScoringFingerprint of(String task, LocalDate dueDate, LocalDate today, int promptVersion) {
+        DueDateBucket bucket = DueDateBucket.of(dueDate, today);
+        return new ScoringFingerprint(hash(task), bucket, bucket.nextChangeDate(dueDate), promptVersion);
+    }
+    
+    private static String hash(String task) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(task.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.taskpilot.intellitask_backend.service.ai;
+
+// Applies the daily-summary rules (trim, cap at maxLength with a trailing "...")
+// to text that arrives in chunks, emitting as much as is already final
+public final class SummaryStreamLimiter {
+    
+    private static final String ELLIPSIS = "...";
+    
+    private final int maxLength;
+    private final StringBuilder held = new StringBuilder();
+    private int emitted;
+    private boolean started;
+    private boolean truncated;
+    
+    public SummaryStreamLimiter(int maxLength) {
+        this.maxLength = maxLength;
+    }
+    
+    public String accept(String chunk) {
+        if (truncated || chunk == null) {
+            return "";
+        }
+        if (!started) {
+            chunk = chunk.stripLeading();
+            if (chunk.isEmpty()) {
+                return "";
+            }
+            started = true;
+        }
+        held.append(chunk);
+        
+        int heldTrimmed = held.toString().stripTrailing().length();
+        if (emitted + heldTrimmed > maxLength) {
+            truncated = true;
+            String out = held.substring(0, maxLength - ELLIPSIS.length() - emitted) + ELLIPSIS;
+            emitted = maxLength;
+            held.setLength(0);
+            return out;
+        }
+        
+        // Hold back trailing whitespace (may be trimmed) and anything past the
+        // point where an ellipsis would go (may be cut if the text runs long)
+        int safe = Math.min(heldTrimmed, maxLength - ELLIPSIS.length() - emitted);
+        String out = held.substring(0, safe);
+        held.delete(0, safe);
+        emitted += safe;
+        return out;
+    }
+    
+    public String finish() {
+        if (truncated) {
+            return "";
+        }
+        String out = held.toString().stripTrailing();
+        held.setLength(0);
+        emitted += out.length();
+        return out;
+    }
+    
+    public boolean isTruncated() {
+        return truncated;
+    }
+}
@@ -0,0 +1,27 @@
+-- Schema as previously produced by ddl-auto=update; existing databases are baselined at this
+-- version, so it must only ever hold what those databases already have
+
+CREATE TABLE users (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    first_name VARCHAR(255) NOT NULL,
+    last_name VARCHAR(255),
+    email VARCHAR(255) NOT NULL,
+    password VARCHAR(255) NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    updated_at DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_users_email UNIQUE (email)
+) ENGINE=InnoDB;
+
+CREATE TABLE todo_items (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    user_id BIGINT NOT NULL,
+    task VARCHAR(255) NOT NULL,
+    date DATE,
+    completed BOOLEAN DEFAULT FALSE,
+    ai_priority INTEGER,
+    created_at DATETIME(6) NOT NULL,
+    updated_at DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT fk_todo_items_user FOREIGN KEY (user_id) REFERENCES users (id)
+) ENGINE=InnoDB;
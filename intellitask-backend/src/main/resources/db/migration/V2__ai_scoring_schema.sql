@@ -0,0 +1,40 @@
+-- Incremental priority scoring, the durable job queue and the nightly sweep. Enum-valued columns
+-- are plain VARCHAR so adding a constant (a new job type, a new due-date bucket) needs no ALTER
+-- that rebuilds the table, and the same schema validates on H2 in tests
+ALTER TABLE todo_items ADD COLUMN ai_priority_pending BOOLEAN DEFAULT FALSE;
+ALTER TABLE todo_items ADD COLUMN ai_priority_engine VARCHAR(20);
+ALTER TABLE todo_items ADD COLUMN ai_text_hash VARCHAR(64);
+ALTER TABLE todo_items ADD COLUMN ai_due_bucket VARCHAR(20);
+ALTER TABLE todo_items ADD COLUMN ai_priority_expires_on DATE;
+ALTER TABLE todo_items ADD COLUMN ai_prompt_version INTEGER;
+
+CREATE TABLE ai_jobs (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    type VARCHAR(30) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    user_id BIGINT NOT NULL,
+    todo_id BIGINT,
+    attempts INTEGER NOT NULL,
+    available_at DATETIME(6) NOT NULL,
+    lease_owner VARCHAR(100),
+    last_error VARCHAR(500),
+    created_at DATETIME(6) NOT NULL,
+    updated_at DATETIME(6),
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE sweep_checkpoints (
+    name VARCHAR(50) NOT NULL,
+    run_date DATE,
+    last_user_id BIGINT NOT NULL,
+    completed BIT NOT NULL,
+    updated_at DATETIME(6),
+    PRIMARY KEY (name)
+) ENGINE=InnoDB;
+
+-- (user_id, completed): open-task lookups, counts and stale-priority scans
+CREATE INDEX idx_todo_items_user_completed_expires ON todo_items (user_id, completed, ai_priority_expires_on);
+-- (user_id, created_at): newest-first listing and its keyset pages
+CREATE INDEX idx_todo_items_user_created ON todo_items (user_id, created_at, id);
+CREATE INDEX idx_ai_jobs_status_available_at ON ai_jobs (status, available_at);
+CREATE INDEX idx_ai_jobs_user_type_status ON ai_jobs (user_id, type, status);
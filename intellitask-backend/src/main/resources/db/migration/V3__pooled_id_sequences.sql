@@ -0,0 +1,13 @@
+-- Backing table for the pooled @TableGenerator ids on users, todo_items and ai_jobs. Hibernate
+-- hands out blocks of 50, so inserts can be JDBC-batched instead of waiting on AUTO_INCREMENT
+CREATE TABLE id_sequences (
+    sequence_name VARCHAR(255) NOT NULL,
+    next_val BIGINT,
+    PRIMARY KEY (sequence_name)
+) ENGINE=InnoDB;
+
+-- With allocationSize 50 the first block Hibernate reads from a stored value v starts at v - 48,
+-- so each segment continues right after the ids AUTO_INCREMENT has already handed out
+INSERT INTO id_sequences (sequence_name, next_val) SELECT 'users', COALESCE(MAX(id), 0) + 49 FROM users;
+INSERT INTO id_sequences (sequence_name, next_val) SELECT 'todo_items', COALESCE(MAX(id), 0) + 49 FROM todo_items;
+INSERT INTO id_sequences (sequence_name, next_val) SELECT 'ai_jobs', COALESCE(MAX(id), 0) + 49 FROM ai_jobs;
@@ -0,0 +1,3 @@
+-- Set when an account is queued for background deletion; such users can no longer log in or
+-- authenticate while their tasks are removed in chunks
+ALTER TABLE users ADD COLUMN deletion_requested_at DATETIME(6) NULL;
@@ -0,0 +1,3 @@
+-- Tokens carry the epoch they were issued under; bumping it revokes every outstanding token for
+-- the user without a per-request lookup of the user row (see TokenEpochCache)
+ALTER TABLE users ADD COLUMN token_epoch INT NOT NULL DEFAULT 0;
@@ -0,0 +1,3 @@
+-- Bumped in the same transaction as every change to a user's tasks; replicas compare it with the
+-- version their cached task list was built from (see TodoListCache)
+ALTER TABLE users ADD COLUMN todo_version BIGINT NOT NULL DEFAULT 0;
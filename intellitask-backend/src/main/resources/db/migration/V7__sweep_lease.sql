@@ -0,0 +1,4 @@
+-- The node running the nightly sweep holds a lease on its checkpoint row, so replicas take turns
+-- instead of each spending their own AI budget and overwriting each other's progress
+ALTER TABLE sweep_checkpoints ADD COLUMN lease_owner VARCHAR(100);
+ALTER TABLE sweep_checkpoints ADD COLUMN lease_until DATETIME(6);
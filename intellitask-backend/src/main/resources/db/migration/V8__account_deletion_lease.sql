@@ -0,0 +1,7 @@
+-- Account deletion no longer runs on the AI job queue. The node deleting an account holds a lease
+-- on the user row; any node resumes a requested deletion whose lease has run out
+ALTER TABLE users ADD COLUMN deletion_lease_until DATETIME(6) NULL;
+CREATE INDEX idx_users_deletion_requested_at ON users (deletion_requested_at, deletion_lease_until);
+
+-- Those users are still marked with deletion_requested_at, so the resume picks them up instead
+DELETE FROM ai_jobs WHERE type = 'DELETE_ACCOUNT';
@@ -0,0 +1,80 @@
+package com.taskpilot.intellitask_backend;
+
+import com.taskpilot.intellitask_backend.entity.TodoItem;
+import com.taskpilot.intellitask_backend.entity.User;
+import com.taskpilot.intellitask_backend.repository.TodoItemRepository;
+import com.taskpilot.intellitask_backend.repository.UserRepository;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationInfo;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import static org.junit.jupiter.api.Assertions.*;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+// Starts the application on a database in the state ddl-auto=update left it, rather than an empty
+// one, so it needs its own datasource instead of the test profile's shared one
+@ActiveProfiles("test")
+@SpringBootTest
+class SchemaUpgradeTest {
+
+    private static final String URL = createPreMigrationDatabase();
+
+    @Autowired
+    private Flyway flyway;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private TodoItemRepository todoItemRepository;
+
+    @DynamicPropertySource
+    static void preMigrationDatabase(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> URL);
+    }
+
+    @Test
+    void testExistingDatabaseIsBaselinedAndUpgradedWithItsData() {
+        MigrationInfo[] applied = flyway.info().applied();
+        assertTrue(applied[0].getType().isBaseline());
+        assertEquals("1", applied[0].getVersion().getVersion());
+        assertTrue(applied.length > 1);
+        assertEquals(0, flyway.info().pending().length);
+
+        User legacy = userRepository.findByEmail("legacy@example.com").orElseThrow();
+        List<TodoItem> tasks = todoItemRepository.findByUserIdAndCompletedFalse(legacy.getId());
+        assertEquals(1, tasks.size());
+        assertEquals(3, tasks.get(0).getAiPriority());
+        assertFalse(tasks.get(0).getAiPriorityPending());
+        assertEquals(0L, userRepository.findTodoVersion(legacy.getId()).orElseThrow());
+
+        // Pooled ids continue after the rows AUTO_INCREMENT handed out before the upgrade
+        User created = userRepository.save(TestFixtures.newUser("after-upgrade@example.com"));
+        TodoItem todo = todoItemRepository.save(TestFixtures.newTodo(created, "New task", null));
+        assertTrue(created.getId() > legacy.getId());
+        assertTrue(todo.getId() > tasks.get(0).getId());
+    }
+
+    private static String createPreMigrationDatabase() {
+        String url = "jdbc:h2:mem:pre-migration;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+        try (Connection connection = DriverManager.getConnection(url, "sa", "");
+             Statement statement = connection.createStatement()) {
+            ScriptUtils.executeSqlScript(connection, new ClassPathResource("db/pre-migration-schema.sql"));
+            statement.executeUpdate("INSERT INTO users (first_name, email, password, created_at) " +
+                    "VALUES ('Legacy', 'legacy@example.com', 'hash', CURRENT_TIMESTAMP)");
+            statement.executeUpdate("INSERT INTO todo_items (task, completed, ai_priority, user_id, created_at) " +
+                    "SELECT 'Old task', FALSE, 3, id, CURRENT_TIMESTAMP FROM users");
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+        return url;
+    }
+}
@@ -0,0 +1,60 @@
+package com.taskpilot.intellitask_backend;
+
+import com.taskpilot.intellitask_backend.entity.TodoItem;
+import com.taskpilot.intellitask_backend.entity.User;
+import com.taskpilot.intellitask_backend.loadtest.FakeGeminiServer;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+
+// Shared setup for the Spring tests, which all run against the test profile's one H2 database
+public final class TestFixtures {
+    
+    private TestFixtures() {
+    }
+    
+    public static User newUser(String email) {
+        return newUser(email, "hash");
+    }
+    
+    public static User newUser(String email, String passwordHash) {
+        User user = new User();
+        user.setFirstName("Test");
+        user.setEmail(email);
+        user.setPassword(passwordHash);
+        return user;
+    }
+    
+    public static TodoItem newTodo(User user, String task, LocalDate date) {
+        TodoItem todo = new TodoItem();
+        todo.setTask(task);
+        todo.setDate(date);
+        todo.setUser(user);
+        return todo;
+    }
+    
+    // Every context caches its own state per user id, but ids are never reused, so wiping the
+    // rows between tests is enough for one test not to see another's data
+    public static void clearDatabase(JdbcTemplate jdbcTemplate) {
+        jdbcTemplate.update("DELETE FROM ai_jobs");
+        jdbcTemplate.update("DELETE FROM sweep_checkpoints");
+        jdbcTemplate.update("DELETE FROM todo_items");
+        jdbcTemplate.update("DELETE FROM users");
+    }
+    
+    public static FakeGeminiServer startGemini(FakeGeminiServer.Builder builder) {
+        try {
+            return builder.start();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    public static void useGemini(DynamicPropertyRegistry registry, FakeGeminiServer gemini) {
+        registry.add("gemini.api.url", gemini::generateUrl);
+        registry.add("gemini.api.stream-url", gemini::streamUrl);
+    }
+}
@@ -0,0 +1,55 @@
+package com.taskpilot.intellitask_backend.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalManagementPort;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureObservability
+@ActiveProfiles("test")
+class MetricsEndpointTest {
+    
+    private final HttpClient http = HttpClient.newHttpClient();
+    
+    @LocalServerPort
+    private int port;
+    @LocalManagementPort
+    private int managementPort;
+    
+    @Test
+    void prometheusEndpointIsOnlyServedOnTheManagementPort() throws Exception {
+        send(HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"email\":\"nobody@example.com\",\"password\":\"wrong-password\"}")));
+        send(HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/todo"))
+                .header("Authorization", "Bearer not-a-token"));
+        
+        assertEquals(403, send(HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/actuator/prometheus"))).statusCode());
+        
+        HttpResponse<String> scrape = send(HttpRequest.newBuilder(URI.create("http://localhost:" + managementPort + "/actuator/prometheus")));
+        assertEquals(200, scrape.statusCode());
+        String body = scrape.body();
+        assertTrue(body.contains("http_server_requests_seconds_bucket{"), "endpoint latency histogram");
+        assertTrue(body.contains("uri=\"/api/auth/login\""), "per-endpoint tag");
+        assertTrue(body.contains("auth_jwt_validation_seconds_count{"), "JWT validation timer");
+        assertTrue(body.contains("auth_password_matches_seconds"), "BCrypt timer");
+        assertTrue(body.contains("hibernate_"), "Hibernate statistics");
+        assertTrue(body.contains("ai_breaker_state"), "AI component gauges");
+        assertTrue(body.contains("ai_jobs{"), "job queue gauges");
+    }
+    
+    private HttpResponse<String> send(HttpRequest.Builder request) throws IOException, InterruptedException {
+        return http.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+}
@@ -13,7 +13,8 @@ class TodoItemTest {
         item.setDate(LocalDate.now());
 
         assertEquals("Deploy the application", item.getTask());
-        assertFalse(item.isCompleted());
+        assertFalse(item.getCompleted());
         assertNotNull(item.getDate());
+        assertFalse(item.getAiPriorityPending());
     }
 }
\ No newline at end of file
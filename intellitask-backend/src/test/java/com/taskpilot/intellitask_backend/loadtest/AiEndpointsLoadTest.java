@@ -0,0 +1,183 @@
+package com.taskpilot.intellitask_backend.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskpilot.intellitask_backend.TestFixtures;
+import com.taskpilot.intellitask_backend.service.ai.GeminiCircuitBreaker;
+import com.taskpilot.intellitask_backend.service.ai.GeminiRateLimiter;
+import com.taskpilot.intellitask_backend.service.ai.InFlightRequestCoalescer;
+import com.taskpilot.intellitask_backend.service.ai.PriorityCache;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Drives the real controllers against FakeGeminiServer and prints throughput and latency
+// percentiles per AI endpoint. Run with: mvn test -P load-test
+// Tunable through -Dloadtest.* system properties (see the constants below).
+@Tag("load")
+@ActiveProfiles("test")
+// Every simulated user signs up from loopback, so the per-IP signup throttle is lifted, and
+// per-user rate limits are off since this measures the endpoints rather than the limiter
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"auth.throttle.max-attempts-per-ip=1000000", "ratelimit.enabled=false", "ai.jobs.workers.enabled=true"})
+class AiEndpointsLoadTest {
+    
+    private static final int USERS = Integer.getInteger("loadtest.users", 20);
+    private static final int CONCURRENCY = Integer.getInteger("loadtest.concurrency", 16);
+    private static final int REQUESTS = Integer.getInteger("loadtest.requests", 200);
+    private static final long LATENCY_MEDIAN_MS = Long.getLong("loadtest.latency.median-ms", 300);
+    private static final long LATENCY_P99_MS = Long.getLong("loadtest.latency.p99-ms", 2000);
+    private static final double ERROR_RATE = Double.parseDouble(System.getProperty("loadtest.error-rate", "0.02"));
+    private static final double RATE_LIMIT_RATE = Double.parseDouble(System.getProperty("loadtest.rate-limit-rate", "0.05"));
+    
+    private static final List<String> TASKS = List.of(
+            "Finish quarterly report", "URGENT: fix production outage", "Buy groceries",
+            "Prepare slides for client meeting", "Water the plants", "Submit tax documents before deadline",
+            "Call the dentist", "Review pull requests", "Plan team offsite", "Renew car insurance");
+    
+    private static final FakeGeminiServer gemini = TestFixtures.startGemini(FakeGeminiServer.builder()
+            .latency(LatencyDistribution.logNormal(LATENCY_MEDIAN_MS, LATENCY_P99_MS))
+            .errorRate(ERROR_RATE)
+            .rateLimitRate(RATE_LIMIT_RATE)
+            .priorityAnswer(task -> task.toLowerCase().contains("urgent") ? 5 : 1 + Math.abs(task.hashCode()) % 4));
+    
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient http = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .executor(Executors.newFixedThreadPool(CONCURRENCY))
+            .build();
+    private final List<String> tokens = new ArrayList<>();
+    
+    @LocalServerPort
+    private int port;
+    @Autowired
+    private GeminiRateLimiter geminiRateLimiter;
+    @Autowired
+    private GeminiCircuitBreaker geminiCircuitBreaker;
+    @Autowired
+    private InFlightRequestCoalescer inFlightRequestCoalescer;
+    @Autowired
+    private PriorityCache priorityCache;
+    
+    @DynamicPropertySource
+    static void geminiProperties(DynamicPropertyRegistry registry) {
+        TestFixtures.useGemini(registry, gemini);
+    }
+    
+    @AfterAll
+    static void stopGemini() {
+        gemini.close();
+    }
+    
+    @BeforeEach
+    void signUpUsers() throws Exception {
+        for (int i = 0; i < USERS; i++) {
+            String email = "load-" + UUID.randomUUID() + "@example.com";
+            HttpResponse<String> response = http.send(post("/api/auth/signup", Map.of(
+                    "firstName", "Load", "lastName", "User" + i, "email", email, "password", "password123"), null),
+                    HttpResponse.BodyHandlers.ofString());
+            assertEquals(201, response.statusCode(), response.body());
+            tokens.add(objectMapper.readTree(response.body()).path("token").asText());
+        }
+    }
+    
+    @Test
+    void aiEndpointsUnderUpstreamLatency() throws Exception {
+        List<LatencyRecorder> results = List.of(
+                run("POST /api/todo", REQUESTS, token -> post("/api/todo", Map.of(
+                        "task", randomTask(), "date", LocalDate.now().plusDays(ThreadLocalRandom.current().nextInt(-2, 30)).toString()), token)),
+                run("POST /ai/update-priorities", REQUESTS / 4, token -> post("/api/todo/ai/update-priorities", Map.of(), token)),
+                run("GET /ai/daily-summary", REQUESTS, token -> get("/api/todo/ai/daily-summary", token)),
+                run("GET /ai/daily-summary/stream", REQUESTS, token -> get("/api/todo/ai/daily-summary/stream", token)));
+        
+        System.out.printf("%nAI endpoint load test: users=%d concurrency=%d gemini latency p50=%dms p99=%dms errorRate=%.2f rateLimitRate=%.2f%n",
+                USERS, CONCURRENCY, LATENCY_MEDIAN_MS, LATENCY_P99_MS, ERROR_RATE, RATE_LIMIT_RATE);
+        results.forEach(result -> System.out.println(result.report()));
+        System.out.println("Fake Gemini: " + gemini.stats());
+        System.out.println("Rate limiter: " + geminiRateLimiter.stats());
+        System.out.println("Circuit breaker: " + geminiCircuitBreaker.stats());
+        System.out.println("Coalescer: " + inFlightRequestCoalescer.stats());
+        System.out.println("Priority cache: " + priorityCache.stats());
+        
+        // Upstream failures must degrade to heuristics and fallbacks, never to 5xx
+        results.forEach(result -> assertEquals(0, result.failures(), result.report()));
+    }
+    
+    private LatencyRecorder run(String endpoint, int requests, Function<String, HttpRequest> request) throws InterruptedException {
+        LatencyRecorder recorder = new LatencyRecorder(endpoint);
+        ExecutorService workers = Executors.newFixedThreadPool(CONCURRENCY);
+        long start = System.nanoTime();
+        for (int i = 0; i < requests; i++) {
+            String token = tokens.get(i % tokens.size());
+            workers.execute(() -> {
+                long sent = System.nanoTime();
+                try {
+                    HttpResponse<Void> response = http.send(request.apply(token), HttpResponse.BodyHandlers.discarding());
+                    recorder.record(response.statusCode(), System.nanoTime() - sent);
+                } catch (IOException e) {
+                    recorder.recordTransportError();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+        workers.shutdown();
+        assertTrue(workers.awaitTermination(10, TimeUnit.MINUTES), endpoint + " did not finish");
+        recorder.finish(System.nanoTime() - start);
+        return recorder;
+    }
+    
+    private HttpRequest post(String path, Map<String, ?> body, String token) {
+        try {
+            return request(path, token)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body)))
+                    .build();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    private HttpRequest get(String path, String token) {
+        return request(path, token).GET().build();
+    }
+    
+    private HttpRequest.Builder request(String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + port + path))
+                .timeout(Duration.ofSeconds(60));
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+    
+    private static String randomTask() {
+        return TASKS.get(ThreadLocalRandom.current().nextInt(TASKS.size()));
+    }
+}
@@ -0,0 +1,226 @@
+package com.taskpilot.intellitask_backend.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Offline stand-in for Gemini's generateContent and streamGenerateContent endpoints;
+// point gemini.api.url and gemini.api.stream-url at generateUrl() and streamUrl()
+public class FakeGeminiServer implements AutoCloseable {
+    
+    private static final Pattern SINGLE_TASK = Pattern.compile("Task: \"(.*)\"");
+    
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final LatencyDistribution latency;
+    private final double errorRate;
+    private final double rateLimitRate;
+    private final Function<String, Integer> priorityAnswer;
+    private final String summaryAnswer;
+    private final int streamChunks;
+    
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong errors = new AtomicLong();
+    private final AtomicLong rateLimited = new AtomicLong();
+    
+    private FakeGeminiServer(Builder builder) throws IOException {
+        this.latency = builder.latency;
+        this.errorRate = builder.errorRate;
+        this.rateLimitRate = builder.rateLimitRate;
+        this.priorityAnswer = builder.priorityAnswer;
+        this.summaryAnswer = builder.summaryAnswer;
+        this.streamChunks = builder.streamChunks;
+        this.executor = Executors.newFixedThreadPool(builder.threads);
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 1024);
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+        server.start();
+    }
+    
+    public static Builder builder() {
+        return new Builder();
+    }
+    
+    public String generateUrl() {
+        return baseUrl() + "/v1beta/models/fake:generateContent";
+    }
+    
+    public String streamUrl() {
+        return baseUrl() + "/v1beta/models/fake:streamGenerateContent";
+    }
+    
+    public Map<String, Long> stats() {
+        Map<String, Long> result = new LinkedHashMap<>();
+        result.put("requests", requests.get());
+        result.put("errors", errors.get());
+        result.put("rateLimited", rateLimited.get());
+        return result;
+    }
+    
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+    
+    private String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+    
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            requests.incrementAndGet();
+            String prompt = objectMapper.readTree(exchange.getRequestBody())
+                    .path("contents").path(0).path("parts").path(0).path("text").asText();
+            
+            sleep(latency.sampleMillis());
+            
+            double roll = ThreadLocalRandom.current().nextDouble();
+            if (roll < rateLimitRate) {
+                rateLimited.incrementAndGet();
+                sendJson(exchange, 429, error(429, "RESOURCE_EXHAUSTED"));
+                return;
+            }
+            if (roll < rateLimitRate + errorRate) {
+                errors.incrementAndGet();
+                sendJson(exchange, 500, error(500, "INTERNAL"));
+                return;
+            }
+            
+            if (exchange.getRequestURI().getPath().endsWith(":streamGenerateContent")) {
+                stream(exchange, answer(prompt));
+            } else {
+                sendJson(exchange, 200, candidate(answer(prompt)));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    private String answer(String prompt) throws IOException {
+        if (prompt.contains("Tasks (JSON):")) {
+            return batchAnswer(prompt);
+        }
+        if (prompt.contains("daily summary")) {
+            return summaryAnswer;
+        }
+        Matcher matcher = SINGLE_TASK.matcher(prompt);
+        return String.valueOf(priorityAnswer.apply(matcher.find() ? matcher.group(1) : ""));
+    }
+    
+    private String batchAnswer(String prompt) throws IOException {
+        int start = prompt.indexOf('[', prompt.indexOf("Tasks (JSON):"));
+        int end = prompt.indexOf('\n', start);
+        JsonNode tasks = objectMapper.readTree(prompt.substring(start, end < 0 ? prompt.length() : end));
+        List<Map<String, Object>> results = new ArrayList<>();
+        for (JsonNode task : tasks) {
+            results.add(Map.of("id", task.path("id").asLong(),
+                    "priority", priorityAnswer.apply(task.path("task").asText())));
+        }
+        return objectMapper.writeValueAsString(results);
+    }
+    
+    private void stream(HttpExchange exchange, String text) throws IOException, InterruptedException {
+        exchange.getResponseHeaders().set("Content-Type", "text/event-stream");
+        exchange.sendResponseHeaders(200, 0);
+        OutputStream body = exchange.getResponseBody();
+        int chunkSize = Math.max(1, (text.length() + streamChunks - 1) / streamChunks);
+        for (int i = 0; i < text.length(); i += chunkSize) {
+            String chunk = text.substring(i, Math.min(text.length(), i + chunkSize));
+            body.write(("data: " + candidate(chunk) + "\r\n\r\n").getBytes(StandardCharsets.UTF_8));
+            body.flush();
+            sleep(latency.sampleMillis() / (2L * streamChunks));
+        }
+    }
+    
+    private String candidate(String text) throws IOException {
+        return objectMapper.writeValueAsString(Map.of("candidates",
+                List.of(Map.of("content", Map.of("parts", List.of(Map.of("text", text)), "role", "model")))));
+    }
+    
+    private String error(int code, String status) throws IOException {
+        return objectMapper.writeValueAsString(Map.of("error",
+                Map.of("code", code, "message", "Fake Gemini " + status, "status", status)));
+    }
+    
+    private static void sendJson(HttpExchange exchange, int status, String json) throws IOException {
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        exchange.getResponseBody().write(bytes);
+    }
+    
+    private static void sleep(long millis) throws InterruptedException {
+        if (millis > 0) {
+            Thread.sleep(millis);
+        }
+    }
+    
+    public static class Builder {
+        private LatencyDistribution latency = LatencyDistribution.none();
+        private double errorRate;
+        private double rateLimitRate;
+        private Function<String, Integer> priorityAnswer = task -> 3;
+        private String summaryAnswer = "You have a focused day ahead. Start with your highest priority task and keep the momentum going!";
+        private int streamChunks = 4;
+        private int threads = 64;
+        
+        public Builder latency(LatencyDistribution latency) {
+            this.latency = latency;
+            return this;
+        }
+        
+        public Builder errorRate(double errorRate) {
+            this.errorRate = errorRate;
+            return this;
+        }
+        
+        public Builder rateLimitRate(double rateLimitRate) {
+            this.rateLimitRate = rateLimitRate;
+            return this;
+        }
+        
+        public Builder priorityAnswer(Function<String, Integer> priorityAnswer) {
+            this.priorityAnswer = priorityAnswer;
+            return this;
+        }
+        
+        public Builder summaryAnswer(String summaryAnswer) {
+            this.summaryAnswer = summaryAnswer;
+            return this;
+        }
+        
+        public Builder streamChunks(int streamChunks) {
+            this.streamChunks = streamChunks;
+            return this;
+        }
+        
+        public Builder threads(int threads) {
+            this.threads = threads;
+            return this;
+        }
+        
+        public FakeGeminiServer start() throws IOException {
+            return new FakeGeminiServer(this);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.taskpilot.intellitask_backend.loadtest;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+@FunctionalInterface
+public interface LatencyDistribution {
+    
+    long sampleMillis();
+    
+    static LatencyDistribution none() {
+        return () -> 0;
+    }
+    
+    static LatencyDistribution fixed(long millis) {
+        return () -> millis;
+    }
+    
+    static LatencyDistribution uniform(long minMillis, long maxMillis) {
+        return () -> ThreadLocalRandom.current().nextLong(minMillis, maxMillis + 1);
+    }
+    
+    // Long-tailed like real model latency; sigma is derived so that p99 lands on p99Millis
+    static LatencyDistribution logNormal(long medianMillis, long p99Millis) {
+        double mu = Math.log(medianMillis);
+        double sigma = Math.log((double) p99Millis / medianMillis) / 2.326;
+        return () -> Math.round(Math.exp(mu + sigma * ThreadLocalRandom.current().nextGaussian()));
+    }
+}
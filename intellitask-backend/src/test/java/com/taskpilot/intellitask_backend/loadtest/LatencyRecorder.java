@@ -0,0 +1,65 @@
+package com.taskpilot.intellitask_backend.loadtest;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+class LatencyRecorder {
+    
+    private final String endpoint;
+    private final ConcurrentLinkedQueue<Long> latenciesNanos = new ConcurrentLinkedQueue<>();
+    private final Map<Integer, AtomicLong> statuses = new ConcurrentHashMap<>();
+    private final AtomicLong transportErrors = new AtomicLong();
+    private long wallNanos;
+    
+    LatencyRecorder(String endpoint) {
+        this.endpoint = endpoint;
+    }
+    
+    void record(int status, long nanos) {
+        latenciesNanos.add(nanos);
+        statuses.computeIfAbsent(status, s -> new AtomicLong()).incrementAndGet();
+    }
+    
+    void recordTransportError() {
+        transportErrors.incrementAndGet();
+    }
+    
+    void finish(long wallNanos) {
+        this.wallNanos = wallNanos;
+    }
+    
+    long failures() {
+        long serverErrors = statuses.entrySet().stream()
+                .filter(entry -> entry.getKey() >= 500)
+                .mapToLong(entry -> entry.getValue().get())
+                .sum();
+        return serverErrors + transportErrors.get();
+    }
+    
+    String report() {
+        List<Long> sorted = new ArrayList<>(latenciesNanos);
+        Collections.sort(sorted);
+        double seconds = wallNanos / 1e9;
+        Map<Integer, Long> statusCounts = new TreeMap<>();
+        statuses.forEach((status, count) -> statusCounts.put(status, count.get()));
+        return String.format("%-28s n=%-6d %8.1f req/s  p50=%7.1fms  p95=%7.1fms  p99=%7.1fms  max=%7.1fms  statuses=%s transportErrors=%d",
+                endpoint, sorted.size(), seconds > 0 ? sorted.size() / seconds : 0,
+                percentile(sorted, 0.50), percentile(sorted, 0.95), percentile(sorted, 0.99),
+                sorted.isEmpty() ? 0 : sorted.get(sorted.size() - 1) / 1e6,
+                statusCounts, transportErrors.get());
+    }
+    
+    private static double percentile(List<Long> sorted, double quantile) {
+        if (sorted.isEmpty()) {
+            return 0;
+        }
+        int index = (int) Math.ceil(quantile * sorted.size()) - 1;
+        return sorted.get(Math.max(0, index)) / 1e6;
+    }
+}
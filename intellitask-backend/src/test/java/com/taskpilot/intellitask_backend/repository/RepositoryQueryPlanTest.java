@@ -0,0 +1,146 @@
+package com.taskpilot.intellitask_backend.repository;
+
+import com.taskpilot.intellitask_backend.entity.AiJobStatus;
+import com.taskpilot.intellitask_backend.entity.AiJobType;
+import com.taskpilot.intellitask_backend.entity.PriorityEngine;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Runs every repository query once, captures the SQL Hibernate actually sends, and fails if
+// H2's (MySQL mode) plan for any of it is a table scan, i.e. a hot query lost its index
+@ActiveProfiles("test")
+@SpringBootTest(properties = {
+    "spring.jpa.properties.hibernate.session_factory.statement_inspector=" +
+        "com.taskpilot.intellitask_backend.repository.RepositoryQueryPlanTest$CapturingStatementInspector",
+    "ai.sweep.enabled=false"
+})
+class RepositoryQueryPlanTest {
+    
+    private static final Queue<String> captured = new ConcurrentLinkedQueue<>();
+    
+    @Autowired
+    private TodoItemRepository todoItemRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private AiJobRepository aiJobRepository;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private DataSource dataSource;
+    
+    public static class CapturingStatementInspector implements StatementInspector {
+        @Override
+        public String inspect(String sql) {
+            captured.add(sql);
+            return sql;
+        }
+    }
+    
+    @Test
+    void testRepositoryQueriesUseAnIndex() throws SQLException {
+        LocalDate today = LocalDate.now();
+        LocalDateTime now = LocalDateTime.now();
+        captured.clear();
+        
+        transactionTemplate.executeWithoutResult(status -> {
+            todoItemRepository.findDtosByUserId(1L);
+            todoItemRepository.findPriorityStatus(1L, 1L);
+            todoItemRepository.findByUserIdAndCompletedFalse(1L);
+            todoItemRepository.findByIdAndUserId(1L, 1L);
+            todoItemRepository.deleteByIdAndUserId(1L, 1L);
+            todoItemRepository.countByUserIdAndCompletedFalse(1L);
+            todoItemRepository.countByUserId(1L);
+            todoItemRepository.findIdsByUserId(1L, PageRequest.of(0, 10));
+            todoItemRepository.updateCompleted(1L, List.of(1L, 2L), true, now);
+            todoItemRepository.deleteByUserIdAndIds(1L, List.of(1L, 2L));
+            todoItemRepository.findFirstPage(1L, PageRequest.of(0, 10));
+            todoItemRepository.findPageAfter(1L, now, 1L, PageRequest.of(0, 10));
+            todoItemRepository.findStalePriorities(1L, 1, PriorityEngine.GEMINI, today);
+            todoItemRepository.updateAiPriority(1L, 3, PriorityEngine.GEMINI, "hash", null, today, 1);
+            todoItemRepository.clearAiPriorityPending(1L);
+            todoItemRepository.clearAiPriorityPendingForUser(1L);
+            todoItemRepository.markStalePrioritiesPending(1L, 1, PriorityEngine.GEMINI, today);
+            todoItemRepository.invalidatePriorities(1L);
+            
+            userRepository.findByEmail("someone@example.com");
+            userRepository.existsByEmail("someone@example.com");
+            userRepository.findIdsAfter(0L, PageRequest.of(0, 10));
+            userRepository.findTokenEpoch(1L);
+            userRepository.findTodoVersion(1L);
+            userRepository.incrementTodoVersion(1L);
+            userRepository.updatePassword(1L, "hash");
+            userRepository.markDeletionRequested(1L, now, now);
+            userRepository.findDeletionsToResume(now, PageRequest.of(0, 10));
+            userRepository.claimDeletion(1L, now, now);
+            userRepository.updateDeletionLease(1L, now);
+            userRepository.countByDeletionRequestedAtNotNull();
+            userRepository.findOldestDeletionRequest();
+            
+            aiJobRepository.lockClaimable(now, 10);
+            aiJobRepository.existsByUserIdAndTypeAndStatus(1L, AiJobType.UPDATE_PRIORITIES, AiJobStatus.PENDING);
+            aiJobRepository.countByStatus(AiJobStatus.PENDING);
+            aiJobRepository.deleteClaimed(1L, "node");
+            aiJobRepository.deleteByUserId(1L);
+            aiJobRepository.releaseClaimed(1L, "node", AiJobStatus.PENDING, now, null);
+            aiJobRepository.renewLeases(List.of(1L, 2L), "node", now);
+            // Only the statements are wanted; nothing is written to the database other tests share
+            status.setRollbackOnly();
+        });
+        
+        List<String> statements = captured.stream()
+                .filter(sql -> !sql.trim().toLowerCase(Locale.ROOT).startsWith("insert"))
+                .distinct()
+                .toList();
+        assertTrue(statements.size() >= 20, "expected every repository query to be captured");
+        
+        List<String> fullScans = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection()) {
+            for (String sql : statements) {
+                String plan = explain(connection, sql);
+                if (plan.contains("tableScan")) {
+                    fullScans.add(sql + "\n  -> " + plan);
+                }
+            }
+        }
+        assertTrue(fullScans.isEmpty(), "full table scans:\n" + String.join("\n", fullScans));
+    }
+    
+    private static String explain(Connection connection, String sql) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+            // Plans are chosen before parameters are known, so their values do not matter
+            int parameters = statement.getParameterMetaData().getParameterCount();
+            for (int i = 1; i <= parameters; i++) {
+                statement.setObject(i, null);
+            }
+            try (ResultSet rs = statement.executeQuery()) {
+                StringBuilder plan = new StringBuilder();
+                while (rs.next()) {
+                    plan.append(rs.getString(1));
+                }
+                return plan.toString().replaceAll("\\s+", " ");
+            }
+        }
+    }
+}
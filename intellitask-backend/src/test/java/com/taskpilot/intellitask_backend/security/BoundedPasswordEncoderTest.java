@@ -0,0 +1,65 @@
+package com.taskpilot.intellitask_backend.security;
+
+import com.taskpilot.intellitask_backend.exception.ServiceUnavailableException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import static org.junit.jupiter.api.Assertions.*;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+
+class BoundedPasswordEncoderTest {
+
+    private final ThreadPoolTaskExecutor executor = executor();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void testHashesOnThePoolAndDetectsOutdatedStrength() {
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(new BCryptPasswordEncoder(5), executor, Duration.ofSeconds(5));
+        String hash = encoder.encode("secret");
+
+        assertTrue(encoder.matches("secret", hash));
+        assertFalse(encoder.matches("wrong", hash));
+        assertFalse(encoder.upgradeEncoding(hash));
+        assertTrue(new BoundedPasswordEncoder(new BCryptPasswordEncoder(6), executor, Duration.ofSeconds(5)).upgradeEncoding(hash));
+    }
+
+    @Test
+    void testSaturatedPoolRejectsWithServiceUnavailable() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        Runnable blocker = () -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+        // Occupies the single thread and the single queue slot
+        executor.execute(blocker);
+        executor.execute(blocker);
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(new BCryptPasswordEncoder(4), executor, Duration.ofSeconds(5));
+
+        assertThrows(ServiceUnavailableException.class, () -> encoder.encode("secret"));
+        assertEquals(1L, encoder.stats().get("rejected"));
+
+        release.countDown();
+        while (executor.getActiveCount() > 0 || !executor.getThreadPoolExecutor().getQueue().isEmpty()) {
+            Thread.sleep(10);
+        }
+        assertTrue(encoder.matches("secret", encoder.encode("secret")));
+    }
+
+    private static ThreadPoolTaskExecutor executor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(1);
+        executor.initialize();
+        return executor;
+    }
+}
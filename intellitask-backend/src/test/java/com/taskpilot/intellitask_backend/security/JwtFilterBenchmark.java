@@ -0,0 +1,106 @@
+package com.taskpilot.intellitask_backend.security;
+
+import com.taskpilot.intellitask_backend.repository.UserRepository;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import javax.crypto.SecretKey;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Date;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+// Cost of JwtAuthenticationFilter per authenticated request with the old triple parse (fresh key
+// and parser each time), a single parse with the prebuilt parser, and the verified-token cache.
+// The users table is stubbed behind TokenEpochCache, so steady state measures its cache hit.
+// Run with: mvn test -P benchmark -Djmh.benchmarks=JwtFilterBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtFilterBenchmark {
+
+    private static final String SECRET = "benchmark_secret_benchmark_secret_benchmark_secret";
+    private static final long EXPIRATION = TimeUnit.DAYS.toMillis(30);
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> { };
+
+    @Param({"legacy", "singleParse", "cached"})
+    private String mode;
+
+    private JwtAuthenticationFilter filter;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        JwtUtil jwtUtil = switch (mode) {
+            case "legacy" -> new LegacyJwtUtil();
+            case "singleParse" -> new JwtUtil(SECRET, EXPIRATION, 0);
+            default -> new JwtUtil(SECRET, EXPIRATION, 10_000);
+        };
+        UserRepository userRepository = (UserRepository) Proxy.newProxyInstance(
+                UserRepository.class.getClassLoader(), new Class<?>[] {UserRepository.class},
+                (proxy, method, args) -> Optional.of(0));
+        TokenEpochCache tokenEpochCache = new TokenEpochCache(userRepository, 1000, Duration.ofMinutes(1));
+        filter = new JwtAuthenticationFilter(jwtUtil, tokenEpochCache, new SimpleMeterRegistry());
+        request = new MockHttpServletRequest("GET", "/api/todo");
+        request.addHeader("Authorization", "Bearer " + jwtUtil.generateToken("42", 0));
+        response = new MockHttpServletResponse();
+    }
+
+    @Benchmark
+    public Object authenticate() throws Exception {
+        filter.doFilterInternal(request, response, NO_OP_CHAIN);
+        Object authentication = SecurityContextHolder.getContext().getAuthentication();
+        SecurityContextHolder.clearContext();
+        return authentication;
+    }
+
+    // The verification path before the rewrite: extractUserId, then validateToken parsing twice more
+    private static final class LegacyJwtUtil extends JwtUtil {
+
+        LegacyJwtUtil() {
+            super(SECRET, EXPIRATION, 0);
+        }
+
+        @Override
+        public VerifiedToken verify(String token) {
+            try {
+                String userId = claims(token).get("userId", String.class);
+                Claims claims = claims(token);
+                boolean valid = claims.get("userId", String.class) != null
+                        && !claims(token).getExpiration().before(new Date());
+                return valid ? new VerifiedToken(userId, 0, claims.getExpiration().toInstant()) : null;
+            } catch (Exception e) {
+                return null;
+            }
+        }
+
+        private static Claims claims(String token) {
+            SecretKey key = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+            return Jwts.parser().verifyWith(key).build().parseSignedClaims(token).getPayload();
+        }
+    }
+}
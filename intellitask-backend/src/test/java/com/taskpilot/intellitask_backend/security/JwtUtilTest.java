@@ -0,0 +1,31 @@
+package com.taskpilot.intellitask_backend.security;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtUtilTest {
+
+    private static final String SECRET = "test_secret_test_secret_test_secret_test_secret";
+
+    @Test
+    void testVerifyReturnsClaimsOnlyForValidTokens() {
+        JwtUtil jwtUtil = new JwtUtil(SECRET, 60_000, 100);
+        String token = jwtUtil.generateToken("7", 3);
+
+        VerifiedToken verified = jwtUtil.verify(token);
+        assertEquals("7", verified.userId());
+        assertEquals(3, verified.epoch());
+        assertSame(verified, jwtUtil.verify(token));
+        assertEquals(1L, jwtUtil.stats().get("hits"));
+        assertNull(jwtUtil.verify(token.substring(0, token.length() - 2) + "xx"));
+        assertNull(jwtUtil.verify("not-a-token"));
+        assertNull(new JwtUtil(SECRET.replace('t', 'x'), 60_000, 100).verify(token));
+    }
+
+    @Test
+    void testExpiredTokenIsRejected() {
+        JwtUtil jwtUtil = new JwtUtil(SECRET, -1_000, 100);
+
+        assertNull(jwtUtil.verify(jwtUtil.generateToken("7", 0)));
+    }
+}
@@ -0,0 +1,38 @@
+package com.taskpilot.intellitask_backend.security;
+
+import com.taskpilot.intellitask_backend.exception.TooManyRequestsException;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.time.Duration;
+
+class LoginThrottleTest {
+
+    @Test
+    void testFailuresPerEmailAreThrottledUntilASuccessfulLogin() {
+        LoginThrottle throttle = new LoginThrottle(Duration.ofMinutes(15), 3, 100, 1000);
+        for (int i = 0; i < 3; i++) {
+            throttle.acquireLogin("victim@example.com", "10.0.0." + i);
+            throttle.recordFailure("victim@example.com");
+        }
+
+        TooManyRequestsException e = assertThrows(TooManyRequestsException.class,
+                () -> throttle.acquireLogin("victim@example.com", "10.0.0.9"));
+        assertTrue(e.getRetryAfter().compareTo(Duration.ZERO) > 0);
+        assertDoesNotThrow(() -> throttle.acquireLogin("someone-else@example.com", "10.0.0.9"));
+
+        throttle.recordSuccess("victim@example.com");
+        assertDoesNotThrow(() -> throttle.acquireLogin("victim@example.com", "10.0.0.9"));
+    }
+
+    @Test
+    void testAttemptsPerIpAreThrottledAcrossEmailsAndSignups() {
+        LoginThrottle throttle = new LoginThrottle(Duration.ofMinutes(15), 10, 3, 1000);
+        throttle.acquireLogin("a@example.com", "10.0.0.1");
+        throttle.acquireLogin("b@example.com", "10.0.0.1");
+        throttle.acquireSignup("10.0.0.1");
+
+        assertThrows(TooManyRequestsException.class, () -> throttle.acquireSignup("10.0.0.1"));
+        assertDoesNotThrow(() -> throttle.acquireSignup("10.0.0.2"));
+        assertEquals(1L, throttle.stats().get("throttled"));
+    }
+}
@@ -0,0 +1,111 @@
+package com.taskpilot.intellitask_backend.security;
+
+import com.taskpilot.intellitask_backend.TestFixtures;
+import com.taskpilot.intellitask_backend.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import java.time.Duration;
+
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+@SpringBootTest(properties = {
+    "ratelimit.ai-priorities.capacity=2",
+    "ratelimit.ai-priorities.refill-per-minute=1",
+    "ratelimit.todo-writes.capacity=3",
+    "ratelimit.todo-writes.refill-per-minute=1"
+})
+class UserRateLimitFilterTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private JwtUtil jwtUtil;
+    @Autowired
+    private UserRateLimiter userRateLimiter;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        TestFixtures.clearDatabase(jdbcTemplate);
+    }
+
+    @Test
+    void testEachUserGetsItsOwnBucketAndExcessIsRejectedWithRetryAfter() throws Exception {
+        String alice = token("alice@example.com");
+        String bob = token("bob@example.com");
+
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(post("/api/todo/ai/update-priorities").header("Authorization", alice))
+                    .andExpect(status().isOk());
+        }
+        mockMvc.perform(post("/api/todo/ai/update-priorities").header("Authorization", alice))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "60"));
+        mockMvc.perform(post("/api/todo/ai/update-priorities").header("Authorization", bob))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void testRouteGroupsHaveSeparateBuckets() {
+        for (int i = 0; i < 2; i++) {
+            assertEquals(Duration.ZERO, userRateLimiter.tryAcquire(-1L, UserRateLimiter.RouteGroup.AI_PRIORITIES));
+        }
+        assertTrue(userRateLimiter.tryAcquire(-1L, UserRateLimiter.RouteGroup.AI_PRIORITIES).toSeconds() > 0);
+        assertEquals(Duration.ZERO, userRateLimiter.tryAcquire(-1L, UserRateLimiter.RouteGroup.AI_SUMMARY));
+        assertNull(UserRateLimiter.RouteGroup.of("GET", "/api/todo"));
+    }
+
+    @Test
+    void testBulkCreatesCostOneTokenEach() throws Exception {
+        String alice = token("alice@example.com");
+        String bob = token("bob@example.com");
+
+        bulk(alice, 2, 0).andExpect(status().isOk());
+        bulk(alice, 2, 0).andExpect(status().isTooManyRequests());
+        mockMvc.perform(post("/api/todo").header("Authorization", alice)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"task\":\"one more\"}"))
+                .andExpect(status().isCreated());
+        bulk(alice, 0, 1).andExpect(status().isTooManyRequests());
+
+        // Larger than the whole bucket: allowed once it is full, then paid back before the next write
+        bulk(bob, 5, 0).andExpect(status().isOk());
+        bulk(bob, 0, 1)
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "180"));
+        assertNull(UserRateLimiter.RouteGroup.of("POST", "/api/todo/bulk"));
+    }
+
+    private ResultActions bulk(String token, int creates, int deletes) throws Exception {
+        StringBuilder operations = new StringBuilder();
+        for (int i = 0; i < creates; i++) {
+            operations.append(operations.isEmpty() ? "" : ",").append("{\"type\":\"CREATE\",\"task\":\"task ").append(i).append("\"}");
+        }
+        for (int i = 0; i < deletes; i++) {
+            operations.append(operations.isEmpty() ? "" : ",").append("{\"type\":\"DELETE\",\"id\":").append(-1 - i).append("}");
+        }
+        return mockMvc.perform(post("/api/todo/bulk").header("Authorization", token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"operations\":[" + operations + "]}"));
+    }
+
+    private String token(String email) {
+        Long userId = userRepository.save(TestFixtures.newUser(email)).getId();
+        return "Bearer " + jwtUtil.generateToken(userId.toString(), 0);
+    }
+}
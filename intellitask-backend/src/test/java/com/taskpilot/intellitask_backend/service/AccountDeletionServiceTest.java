@@ -0,0 +1,116 @@
+package com.taskpilot.intellitask_backend.service;
+
+import com.taskpilot.intellitask_backend.TestFixtures;
+import com.taskpilot.intellitask_backend.dto.request.LoginRequest;
+import com.taskpilot.intellitask_backend.dto.response.AccountDeletionResponse;
+import com.taskpilot.intellitask_backend.entity.TodoItem;
+import com.taskpilot.intellitask_backend.entity.User;
+import com.taskpilot.intellitask_backend.exception.UnauthorizedException;
+import com.taskpilot.intellitask_backend.repository.AiJobRepository;
+import com.taskpilot.intellitask_backend.repository.TodoItemRepository;
+import com.taskpilot.intellitask_backend.repository.UserRepository;
+import com.taskpilot.intellitask_backend.security.TokenEpochCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import static org.junit.jupiter.api.Assertions.*;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+@ActiveProfiles("test")
+@SpringBootTest(properties = {
+    "account.deletion.chunk-size=3",
+    "account.deletion.inline-max-tasks=5"
+})
+class AccountDeletionServiceTest {
+
+    @Autowired
+    private AccountDeletionService accountDeletionService;
+    @Autowired
+    private AuthService authService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private TodoItemRepository todoItemRepository;
+    @Autowired
+    private AiJobRepository aiJobRepository;
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+    @Autowired
+    private TokenEpochCache tokenEpochCache;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        TestFixtures.clearDatabase(jdbcTemplate);
+    }
+
+    @Test
+    void testSmallAccountIsDeletedInline() {
+        Long userId = userWithTasks("small@example.com", 4);
+
+        AccountDeletionResponse response = accountDeletionService.requestDeletion(userId);
+
+        assertTrue(response.isDeleted());
+        assertEquals(4L, response.getTaskCount());
+        assertFalse(userRepository.existsById(userId));
+        assertEquals(0, todoItemRepository.countByUserId(userId));
+    }
+
+    @Test
+    void testLargeAccountIsLockedOutAndDeletedInTheBackground() throws InterruptedException {
+        Long userId = userWithTasks("large@example.com", 8);
+        assertTrue(tokenEpochCache.isCurrent(userId, 0));
+
+        AccountDeletionResponse response = accountDeletionService.requestDeletion(userId);
+
+        assertFalse(tokenEpochCache.isCurrent(userId, 0));
+        assertFalse(response.isDeleted());
+        assertEquals(8L, response.getTaskCount());
+        assertThrows(UnauthorizedException.class,
+                () -> authService.login(new LoginRequest("large@example.com", "secret"), "127.0.0.1"));
+        awaitDeleted(userId);
+        assertEquals(0, todoItemRepository.countByUserId(userId));
+        assertEquals(0, aiJobRepository.count());
+    }
+
+    @Test
+    void testDeletionWhoseNodeStoppedIsResumed() throws InterruptedException {
+        Long userId = userWithTasks("interrupted@example.com", 8);
+        // As a node that died partway leaves it: marked, some tasks left, lease run out
+        LocalDateTime requestedAt = LocalDateTime.now(ZoneOffset.UTC).minusMinutes(10);
+        userRepository.markDeletionRequested(userId, requestedAt, requestedAt.plusMinutes(5));
+        assertEquals(1L, accountDeletionService.stats().get("pending"));
+
+        accountDeletionService.resumePendingDeletions();
+
+        awaitDeleted(userId);
+        assertEquals(0, todoItemRepository.countByUserId(userId));
+        assertEquals(0L, accountDeletionService.stats().get("pending"));
+    }
+
+    private void awaitDeleted(Long userId) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (userRepository.existsById(userId)) {
+            assertTrue(System.currentTimeMillis() < deadline, "Account was not deleted in time");
+            Thread.sleep(50);
+        }
+    }
+
+    private Long userWithTasks(String email, int tasks) {
+        User user = userRepository.save(TestFixtures.newUser(email, passwordEncoder.encode("secret")));
+        List<TodoItem> todos = new ArrayList<>();
+        for (int i = 0; i < tasks; i++) {
+            todos.add(TestFixtures.newTodo(user, "Task " + i, null));
+        }
+        todoItemRepository.saveAll(todos);
+        return user.getId();
+    }
+}
@@ -0,0 +1,197 @@
+package com.taskpilot.intellitask_backend.service;
+
+import com.taskpilot.intellitask_backend.TestFixtures;
+import com.taskpilot.intellitask_backend.dto.request.CreateTodoRequest;
+import com.taskpilot.intellitask_backend.entity.AiJob;
+import com.taskpilot.intellitask_backend.entity.AiJobStatus;
+import com.taskpilot.intellitask_backend.entity.AiJobType;
+import com.taskpilot.intellitask_backend.entity.PriorityEngine;
+import com.taskpilot.intellitask_backend.entity.TodoItem;
+import com.taskpilot.intellitask_backend.loadtest.FakeGeminiServer;
+import com.taskpilot.intellitask_backend.repository.AiJobRepository;
+import com.taskpilot.intellitask_backend.repository.TodoItemRepository;
+import com.taskpilot.intellitask_backend.repository.UserRepository;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import static org.junit.jupiter.api.Assertions.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.function.BooleanSupplier;
+
+// Closed after the class so its workers stop polling the database the other test classes share
+@ActiveProfiles("test")
+@DirtiesContext
+@SpringBootTest(properties = {
+    "ai.jobs.workers.enabled=true",
+    "ai.jobs.poll-interval=PT0.05S",
+    "ai.jobs.max-attempts=2",
+    "ai.jobs.backoff-base=PT0.1S",
+    "ai.jobs.lease=PT1S",
+    "ai.jobs.heartbeat-interval=PT0.2S"
+})
+class AiJobWorkerTest {
+    // Tasks containing "poison" make the fake server drop the connection; "slow" ones outlast the lease
+    private static final FakeGeminiServer gemini = TestFixtures.startGemini(FakeGeminiServer.builder()
+            .priorityAnswer(task -> {
+                if (task.contains("poison")) {
+                    throw new IllegalStateException("poisoned prompt");
+                }
+                if (task.contains("slow")) {
+                    try {
+                        Thread.sleep(2500);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                return 4;
+            }));
+
+    @Autowired
+    private TodoService todoService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private TodoItemRepository todoItemRepository;
+    @Autowired
+    private AiJobRepository aiJobRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long userId;
+
+    @DynamicPropertySource
+    static void geminiProperties(DynamicPropertyRegistry registry) {
+        TestFixtures.useGemini(registry, gemini);
+    }
+
+    @AfterAll
+    static void stopGemini() {
+        gemini.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        TestFixtures.clearDatabase(jdbcTemplate);
+        userId = userRepository.save(TestFixtures.newUser("jobs@example.com")).getId();
+    }
+
+    @Test
+    void testCreatedTodoIsScoredByWorkerAndJobRemoved() {
+        Long todoId = todoService.createTodo(userId, new CreateTodoRequest("Ship release", LocalDate.now().plusDays(1))).getId();
+
+        awaitTrue(() -> aiJobRepository.count() == 0);
+        TodoItem todo = todoItemRepository.findById(todoId).orElseThrow();
+        assertEquals(PriorityEngine.GEMINI, todo.getAiPriorityEngine());
+        assertFalse(todo.getAiPriorityPending());
+    }
+
+    @Test
+    void testTodoCompletedBeforeScoringIsNoLongerPending() {
+        // A task completed while its scoring job still waited in the queue
+        TodoItem completed = TestFixtures.newTodo(userRepository.findById(userId).orElseThrow(), "Pay rent", null);
+        completed.setCompleted(true);
+        completed.setAiPriorityPending(true);
+        Long todoId = todoItemRepository.save(completed).getId();
+        assertTrue(new String(todoService.getUserTodosJson(userId)).contains("\"aiPriorityPending\":true"));
+
+        AiJob queued = new AiJob();
+        queued.setType(AiJobType.SCORE_TASK);
+        queued.setUserId(userId);
+        queued.setTodoId(todoId);
+        queued.setAvailableAt(LocalDateTime.now(ZoneOffset.UTC));
+        aiJobRepository.save(queued);
+
+        awaitTrue(() -> aiJobRepository.count() == 0);
+        assertFalse(todoItemRepository.findById(todoId).orElseThrow().getAiPriorityPending());
+        assertFalse(new String(todoService.getUserTodosJson(userId)).contains("\"aiPriorityPending\":true"));
+    }
+
+    @Test
+    void testExpiredLeaseIsReclaimed() {
+        Long todoId = todoService.createTodo(userId, new CreateTodoRequest("Renew passport", null)).getId();
+        awaitTrue(() -> aiJobRepository.count() == 0);
+
+        AiJob orphaned = new AiJob();
+        orphaned.setType(AiJobType.UPDATE_PRIORITIES);
+        orphaned.setUserId(userId);
+        orphaned.setStatus(AiJobStatus.RUNNING);
+        orphaned.setAttempts(1);
+        orphaned.setLeaseOwner("crashed-node");
+        orphaned.setAvailableAt(LocalDateTime.now(ZoneOffset.UTC).minusMinutes(1));
+        aiJobRepository.save(orphaned);
+
+        awaitTrue(() -> aiJobRepository.count() == 0);
+        assertTrue(todoItemRepository.findById(todoId).isPresent());
+    }
+
+    @Test
+    void testDeadLetteredJobClearsPendingInCachedList() {
+        Long todoId = todoService.createTodo(userId, new CreateTodoRequest("Book flights", null)).getId();
+        awaitTrue(() -> aiJobRepository.count() == 0);
+        jdbcTemplate.update("UPDATE todo_items SET ai_priority_pending = TRUE WHERE id = ?", todoId);
+        assertTrue(new String(todoService.getUserTodosJson(userId)).contains("\"aiPriorityPending\":true"));
+
+        AiJob orphaned = new AiJob();
+        orphaned.setType(AiJobType.UPDATE_PRIORITIES);
+        orphaned.setUserId(userId);
+        orphaned.setStatus(AiJobStatus.RUNNING);
+        orphaned.setAttempts(2);
+        orphaned.setLeaseOwner("crashed-node");
+        orphaned.setAvailableAt(LocalDateTime.now(ZoneOffset.UTC).minusMinutes(1));
+        aiJobRepository.save(orphaned);
+
+        awaitTrue(() -> aiJobRepository.countByStatus(AiJobStatus.DEAD) == 1);
+        String json = new String(todoService.getUserTodosJson(userId));
+        assertTrue(json.contains("\"aiPriorityPending\":false"));
+        assertFalse(json.contains("\"aiPriorityPending\":true"));
+    }
+
+    @Test
+    void testFailingJobIsRetriedThenDeadLettered() {
+        Long todoId = todoService.createTodo(userId, new CreateTodoRequest("poison task", null)).getId();
+
+        awaitTrue(() -> aiJobRepository.countByStatus(AiJobStatus.DEAD) == 1);
+        AiJob dead = aiJobRepository.findAll().get(0);
+        assertEquals(2, dead.getAttempts());
+        assertTrue(dead.getLastError().contains("Gemini unavailable"));
+        TodoItem todo = todoItemRepository.findById(todoId).orElseThrow();
+        assertEquals(PriorityEngine.HEURISTIC, todo.getAiPriorityEngine());
+        assertFalse(todo.getAiPriorityPending());
+    }
+
+    @Test
+    void testLeaseIsRenewedWhileJobRuns() throws InterruptedException {
+        Long todoId = todoService.createTodo(userId, new CreateTodoRequest("slow task", null)).getId();
+
+        awaitTrue(() -> aiJobRepository.countByStatus(AiJobStatus.RUNNING) == 1);
+        Thread.sleep(1500);
+        AiJob running = aiJobRepository.findAll().get(0);
+        assertEquals(1, running.getAttempts());
+        assertTrue(running.getAvailableAt().isAfter(LocalDateTime.now(ZoneOffset.UTC)));
+
+        awaitTrue(() -> aiJobRepository.count() == 0);
+        assertEquals(PriorityEngine.GEMINI, todoItemRepository.findById(todoId).orElseThrow().getAiPriorityEngine());
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "Condition not met in time");
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.taskpilot.intellitask_backend.service;
+
+import com.taskpilot.intellitask_backend.TestFixtures;
+import com.taskpilot.intellitask_backend.entity.User;
+import com.taskpilot.intellitask_backend.loadtest.FakeGeminiServer;
+import com.taskpilot.intellitask_backend.repository.TodoItemRepository;
+import com.taskpilot.intellitask_backend.repository.UserRepository;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import static org.junit.jupiter.api.Assertions.*;
+
+@ActiveProfiles("test")
+@SpringBootTest
+class DailySummaryServiceTest {
+
+    private static final FakeGeminiServer gemini = TestFixtures.startGemini(FakeGeminiServer.builder()
+            .summaryAnswer("One task left, you have got this."));
+
+    @Autowired
+    private DailySummaryService dailySummaryService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private TodoItemRepository todoItemRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void geminiProperties(DynamicPropertyRegistry registry) {
+        TestFixtures.useGemini(registry, gemini);
+    }
+
+    @AfterAll
+    static void stopGemini() {
+        gemini.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        TestFixtures.clearDatabase(jdbcTemplate);
+    }
+
+    @Test
+    void testSummaryIsCachedUntilTheSharedTodoVersionMoves() {
+        User user = userRepository.save(TestFixtures.newUser("summary@example.com"));
+        todoItemRepository.save(TestFixtures.newTodo(user, "Write report", null));
+
+        String summary = dailySummaryService.getDailySummary(user.getId());
+        long requests = gemini.stats().get("requests");
+        assertEquals(summary, dailySummaryService.getDailySummary(user.getId()));
+        assertEquals(requests, gemini.stats().get("requests"));
+
+        // What another replica's bump looks like from here: only the shared column moves
+        jdbcTemplate.update("UPDATE users SET todo_version = todo_version + 1 WHERE id = ?", user.getId());
+        dailySummaryService.getDailySummary(user.getId());
+        assertEquals(requests + 1, gemini.stats().get("requests"));
+    }
+}
@@ -0,0 +1,128 @@
+package com.taskpilot.intellitask_backend.service;
+
+import com.taskpilot.intellitask_backend.TestFixtures;
+import com.taskpilot.intellitask_backend.entity.PriorityEngine;
+import com.taskpilot.intellitask_backend.entity.SweepCheckpoint;
+import com.taskpilot.intellitask_backend.entity.TodoItem;
+import com.taskpilot.intellitask_backend.entity.User;
+import com.taskpilot.intellitask_backend.loadtest.FakeGeminiServer;
+import com.taskpilot.intellitask_backend.repository.SweepCheckpointRepository;
+import com.taskpilot.intellitask_backend.repository.TodoItemRepository;
+import com.taskpilot.intellitask_backend.repository.UserRepository;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import static org.junit.jupiter.api.Assertions.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+@ActiveProfiles("test")
+@SpringBootTest(properties = {
+    "ai.sweep.page-size=1",
+    "ai.sweep.parallelism=1",
+    "ai.sweep.max-ai-calls=1",
+    "ai.priority.batch.size=1"
+})
+class PrioritySweepServiceTest {
+    private static final FakeGeminiServer gemini = TestFixtures.startGemini(FakeGeminiServer.builder());
+
+    @Autowired
+    private PrioritySweepService prioritySweepService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private TodoItemRepository todoItemRepository;
+    @Autowired
+    private SweepCheckpointRepository checkpointRepository;
+    @Autowired
+    private AIService aiService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void geminiProperties(DynamicPropertyRegistry registry) {
+        TestFixtures.useGemini(registry, gemini);
+    }
+
+    @AfterAll
+    static void stopGemini() {
+        gemini.close();
+    }
+
+    @BeforeEach
+    void resetSweep() {
+        TestFixtures.clearDatabase(jdbcTemplate);
+    }
+    
+    @Test
+    void testSweepStopsAtBudgetAndResumesFromCheckpoint() {
+        List<Long> userIds = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            userIds.add(createUser("sweep" + i + "@example.com", 1));
+        }
+
+        prioritySweepService.sweep();
+
+        SweepCheckpoint checkpoint = checkpointRepository.findById(PrioritySweepService.SWEEP_NAME).orElseThrow();
+        assertFalse(checkpoint.getCompleted());
+        assertEquals(userIds.get(0), checkpoint.getLastUserId());
+        assertEquals(PriorityEngine.GEMINI, todoItemRepository.findByUserIdAndCompletedFalse(userIds.get(0)).get(0).getAiPriorityEngine());
+        assertEquals(1, aiService.findStalePriorities(userIds.get(1)).size());
+
+        prioritySweepService.sweep();
+        prioritySweepService.sweep();
+        prioritySweepService.sweep();
+
+        assertTrue(checkpointRepository.findById(PrioritySweepService.SWEEP_NAME).orElseThrow().getCompleted());
+        userIds.forEach(userId -> assertTrue(aiService.findStalePriorities(userId).isEmpty()));
+    }
+
+    @Test
+    void testUserOverWholeBudgetIsCappedAndCheckpointAdvances() {
+        Long userId = createUser("backlog@example.com", 3);
+        
+        prioritySweepService.sweep();
+        
+        SweepCheckpoint checkpoint = checkpointRepository.findById(PrioritySweepService.SWEEP_NAME).orElseThrow();
+        assertEquals(userId, checkpoint.getLastUserId());
+        assertEquals(2, aiService.findStalePriorities(userId).size());
+        assertNull(checkpoint.getLeaseOwner());
+    }
+    
+    @Test
+    void testSweepSkipsWhileAnotherNodeHoldsTheLease() {
+        Long userId = createUser("leased@example.com", 1);
+        checkpointRepository.save(new SweepCheckpoint(PrioritySweepService.SWEEP_NAME, null, 0L, true,
+                "other-node", LocalDateTime.now(ZoneOffset.UTC).plusMinutes(5), null));
+        
+        prioritySweepService.sweep();
+        
+        assertEquals(1, aiService.findStalePriorities(userId).size());
+        assertEquals("other-node", checkpointRepository.findById(PrioritySweepService.SWEEP_NAME).orElseThrow().getLeaseOwner());
+        
+        checkpointRepository.save(new SweepCheckpoint(PrioritySweepService.SWEEP_NAME, null, 0L, true,
+                "other-node", LocalDateTime.now(ZoneOffset.UTC).minusMinutes(1), null));
+        
+        prioritySweepService.sweep();
+        
+        assertTrue(aiService.findStalePriorities(userId).isEmpty());
+        assertTrue(checkpointRepository.findById(PrioritySweepService.SWEEP_NAME).orElseThrow().getCompleted());
+    }
+    
+    private Long createUser(String email, int tasks) {
+        User user = userRepository.save(TestFixtures.newUser(email));
+        for (int i = 0; i < tasks; i++) {
+            todoItemRepository.save(TestFixtures.newTodo(user, "Task " + i + " for " + email, LocalDate.now().plusDays(3)));
+        }
+        return user.getId();
+    }
+    }
@@ -0,0 +1,136 @@
+package com.taskpilot.intellitask_backend.service;
+
+import com.taskpilot.intellitask_backend.IntellitaskBackendApplication;
+import com.taskpilot.intellitask_backend.dto.response.TodoItemDto;
+import com.taskpilot.intellitask_backend.entity.TodoItem;
+import com.taskpilot.intellitask_backend.repository.TodoItemRepository;
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Compares listing a user's tasks through managed TodoItem entities (the old read path) with the
+// TodoItemDto constructor projection, against H2 with the real schema and repositories.
+// Run with: mvn test -P benchmark -Djmh.benchmarks=TodoReadPathBenchmark
+// (gc.alloc.rate.norm in the output is bytes allocated per listing)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TodoReadPathBenchmark {
+    
+    private static final String ENTITY_QUERY =
+            "SELECT t FROM TodoItem t WHERE t.user.id = :userId ORDER BY t.createdAt DESC, t.id DESC";
+    
+    @Param({"1000", "10000"})
+    private int taskCount;
+    
+    private ConfigurableApplicationContext context;
+    private TodoItemRepository todoItemRepository;
+    private EntityManager entityManager;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+    private long userId;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(IntellitaskBackendApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .properties(
+                    "spring.datasource.url=jdbc:h2:mem:read-path-" + taskCount + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                    "spring.jpa.properties.hibernate.generate_statistics=false",
+                    "ai.jobs.workers.enabled=false",
+                    "ai.sweep.enabled=false",
+                    "logging.level.root=WARN")
+                .run();
+        todoItemRepository = context.getBean(TodoItemRepository.class);
+        entityManager = context.getBean(EntityManager.class);
+        PlatformTransactionManager transactionManager = context.getBean(PlatformTransactionManager.class);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbc.update("INSERT INTO users (first_name, email, password, created_at) VALUES ('Bench', 'bench@example.com', 'hash', ?)", now);
+        userId = jdbc.queryForObject("SELECT id FROM users WHERE email = 'bench@example.com'", Long.class);
+        List<Object[]> rows = new ArrayList<>();
+        LocalDateTime created = LocalDateTime.now().minusDays(taskCount);
+        for (int i = 0; i < taskCount; i++) {
+            rows.add(new Object[]{userId, "Task number " + i + " with a realistic amount of text",
+                    LocalDate.now().plusDays(i % 30), i % 3 == 0, 1 + i % 5, "GEMINI",
+                    Timestamp.valueOf(created.plusMinutes(i))});
+        }
+        jdbc.batchUpdate("INSERT INTO todo_items (user_id, task, date, completed, ai_priority, ai_priority_pending, " +
+                "ai_priority_engine, created_at) VALUES (?, ?, ?, ?, ?, false, ?, ?)", rows);
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+    
+    // An ordinary @Transactional service method: managed entities with snapshots and dirty-checking at commit
+    @Benchmark
+    public List<TodoItemDto> entitiesReadWrite() {
+        return readWrite.execute(status -> loadEntities());
+    }
+    
+    // The old repository-only path: read-only transaction, but still full entity hydration
+    @Benchmark
+    public List<TodoItemDto> entitiesReadOnly() {
+        return readOnly.execute(status -> loadEntities());
+    }
+    
+    @Benchmark
+    public List<TodoItemDto> dtoProjection() {
+        return readOnly.execute(status -> todoItemRepository.findDtosByUserId(userId));
+    }
+    
+    private List<TodoItemDto> loadEntities() {
+        List<TodoItem> todoItems = entityManager.createQuery(ENTITY_QUERY, TodoItem.class)
+                .setParameter("userId", userId)
+                .getResultList();
+        List<TodoItemDto> items = new ArrayList<>(todoItems.size());
+        for (TodoItem todoItem : todoItems) {
+            items.add(TodoItemDto.builder()
+                    .id(todoItem.getId())
+                    .name(todoItem.getTask())
+                    .dueDate(todoItem.getDate())
+                    .completed(todoItem.getCompleted())
+                    .aiPriority(todoItem.getAiPriority())
+                    .aiPriorityPending(Boolean.TRUE.equals(todoItem.getAiPriorityPending()))
+                    .aiPriorityEngine(todoItem.getAiPriorityEngine())
+                    .createdAt(todoItem.getCreatedAt())
+                    .updatedAt(todoItem.getUpdatedAt())
+                    .build());
+        }
+        return items;
+    }
+}
@@ -0,0 +1,137 @@
+package com.taskpilot.intellitask_backend.service;
+
+import com.taskpilot.intellitask_backend.TestFixtures;
+import com.taskpilot.intellitask_backend.dto.request.BulkTodoOperation;
+import com.taskpilot.intellitask_backend.dto.request.BulkTodoRequest;
+import com.taskpilot.intellitask_backend.dto.request.CreateTodoRequest;
+import com.taskpilot.intellitask_backend.dto.response.BulkTodoResponse;
+import com.taskpilot.intellitask_backend.dto.response.TodoItemDto;
+import com.taskpilot.intellitask_backend.dto.response.TodoPageResponse;
+import com.taskpilot.intellitask_backend.entity.TodoItem;
+import com.taskpilot.intellitask_backend.entity.User;
+import com.taskpilot.intellitask_backend.exception.BadRequestException;
+import com.taskpilot.intellitask_backend.repository.TodoItemRepository;
+import com.taskpilot.intellitask_backend.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import static org.junit.jupiter.api.Assertions.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+
+@ActiveProfiles("test")
+@SpringBootTest
+class TodoServiceTest {
+
+    @Autowired
+    private TodoService todoService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private TodoItemRepository todoItemRepository;
+    @Autowired
+    private TodoListCache todoListCache;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        TestFixtures.clearDatabase(jdbcTemplate);
+    }
+
+    @Test
+    void testKeysetPagesCoverEveryTaskOnceNewestFirst() {
+        User user = userRepository.save(TestFixtures.newUser("pager@example.com"));
+        List<TodoItem> saved = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            saved.add(todoItemRepository.save(TestFixtures.newTodo(user, "Task " + i, null)));
+        }
+        List<Long> expected = saved.stream()
+                .sorted(Comparator.comparing(TodoItem::getCreatedAt).thenComparing(TodoItem::getId).reversed())
+                .map(TodoItem::getId)
+                .toList();
+
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            TodoPageResponse page = todoService.getUserTodoPage(user.getId(), cursor, 2);
+            page.getItems().stream().map(TodoItemDto::getId).forEach(seen::add);
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(3, pages);
+        assertEquals(expected, seen);
+        assertThrows(BadRequestException.class, () -> todoService.getUserTodoPage(user.getId(), "not-a-cursor", 2));
+    }
+
+    @Test
+    void testBulkOperationsApplyOnlyToTheCallersTasks() {
+        User owner = userRepository.save(TestFixtures.newUser("bulk-owner@example.com"));
+        User other = userRepository.save(TestFixtures.newUser("bulk-other@example.com"));
+        TodoItem foreign = todoItemRepository.save(TestFixtures.newTodo(other, "Not yours", null));
+
+        List<BulkTodoOperation> creates = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            creates.add(new BulkTodoOperation(BulkTodoOperation.Type.CREATE, null, "Bulk task " + i, LocalDate.now()));
+        }
+        BulkTodoResponse created = todoService.applyBulk(owner.getId(), new BulkTodoRequest(creates));
+        assertEquals(3, created.getCreated().size());
+        List<Long> ids = created.getCreated().stream().map(TodoItemDto::getId).toList();
+
+        BulkTodoResponse changed = todoService.applyBulk(owner.getId(), new BulkTodoRequest(List.of(
+                new BulkTodoOperation(BulkTodoOperation.Type.COMPLETE, ids.get(0), null, null),
+                new BulkTodoOperation(BulkTodoOperation.Type.COMPLETE, ids.get(1), null, null),
+                new BulkTodoOperation(BulkTodoOperation.Type.UNCOMPLETE, ids.get(1), null, null),
+                new BulkTodoOperation(BulkTodoOperation.Type.DELETE, ids.get(2), null, null),
+                new BulkTodoOperation(BulkTodoOperation.Type.COMPLETE, foreign.getId(), null, null),
+                new BulkTodoOperation(BulkTodoOperation.Type.DELETE, foreign.getId(), null, null))));
+
+        assertEquals(1, changed.getCompleted());
+        assertEquals(1, changed.getUncompleted());
+        assertEquals(1, changed.getDeleted());
+        assertTrue(todoItemRepository.findById(ids.get(0)).orElseThrow().getCompleted());
+        assertFalse(todoItemRepository.findById(ids.get(1)).orElseThrow().getCompleted());
+        assertTrue(todoItemRepository.findById(ids.get(2)).isEmpty());
+        assertTrue(todoItemRepository.findById(foreign.getId()).isPresent());
+    }
+
+    @Test
+    void testTodoListCacheIsWrittenThroughAndDroppedAfterWritesElsewhere() throws Exception {
+        Long userId = userRepository.save(TestFixtures.newUser("list-cache@example.com")).getId();
+        TodoItemDto first = todoService.createTodo(userId, new CreateTodoRequest("First", LocalDate.now()));
+        assertJsonMatchesDatabase(userId);
+        long misses = (long) todoListCache.stats().get("misses");
+
+        TodoItemDto second = todoService.createTodo(userId, new CreateTodoRequest("Second", null));
+        todoService.toggleCompletion(userId, first.getId(), null);
+        todoService.applyBulk(userId, new BulkTodoRequest(List.of(
+                new BulkTodoOperation(BulkTodoOperation.Type.CREATE, null, "Third", null),
+                new BulkTodoOperation(BulkTodoOperation.Type.COMPLETE, second.getId(), null, null))));
+        todoService.deleteTodo(userId, second.getId());
+        assertJsonMatchesDatabase(userId);
+        assertEquals(misses, todoListCache.stats().get("misses"));
+
+        // Another replica changing the rows bumps the shared version, so this node reloads
+        todoItemRepository.updateCompleted(userId, Set.of(first.getId()), false, LocalDateTime.now());
+        userRepository.incrementTodoVersion(userId);
+        assertJsonMatchesDatabase(userId);
+        assertEquals(misses + 1, todoListCache.stats().get("misses"));
+    }
+
+    private void assertJsonMatchesDatabase(Long userId) throws Exception {
+        byte[] expected = objectMapper.writeValueAsBytes(todoItemRepository.findDtosByUserId(userId));
+        assertEquals(objectMapper.readTree(expected), objectMapper.readTree(todoService.getUserTodosJson(userId)));
+    }
+}
@@ -0,0 +1,47 @@
+package com.taskpilot.intellitask_backend.service.ai;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.time.Duration;
+
+class GeminiCircuitBreakerTest {
+    @Test
+    void testOpensOnFailureRateAndRecoversThroughHalfOpen() throws InterruptedException {
+        GeminiCircuitBreaker breaker = new GeminiCircuitBreaker(
+            4, 4, 50, Duration.ofSeconds(1), Duration.ofMillis(500), 1);
+
+        for (int i = 0; i < 2; i++) {
+            breaker.tryAcquire().onSuccess(0);
+            breaker.tryAcquire().onFailure();
+        }
+        assertEquals(GeminiCircuitBreaker.State.OPEN, breaker.getState());
+        assertNull(breaker.tryAcquire());
+
+        Thread.sleep(600);
+        GeminiCircuitBreaker.Call probe = breaker.tryAcquire();
+        assertNotNull(probe);
+        assertEquals(GeminiCircuitBreaker.State.HALF_OPEN, breaker.getState());
+        assertNull(breaker.tryAcquire());
+
+        probe.onSuccess(0);
+        assertEquals(GeminiCircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    void testCancelledCallFreesItsHalfOpenSlotOnce() throws InterruptedException {
+        GeminiCircuitBreaker breaker = new GeminiCircuitBreaker(
+            2, 2, 50, Duration.ofSeconds(1), Duration.ofMillis(100), 2);
+        breaker.tryAcquire().onFailure();
+        breaker.tryAcquire().onFailure();
+        Thread.sleep(150);
+
+        GeminiCircuitBreaker.Call cancelled = breaker.tryAcquire();
+        assertNotNull(breaker.tryAcquire());
+        // Cancellation reaches both the permit wait and the call itself
+        cancelled.onNotExecuted();
+        cancelled.onNotExecuted();
+
+        assertNotNull(breaker.tryAcquire());
+        assertNull(breaker.tryAcquire());
+    }
+}
@@ -0,0 +1,95 @@
+package com.taskpilot.intellitask_backend.service.ai;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Compares per-call encode/decode cost of the old Map + tree approach with GeminiClient.
+// Run with: mvn test -P benchmark -Djmh.benchmarks=GeminiClientBenchmark
+// (gc.alloc.rate.norm in the output is bytes allocated per call)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GeminiClientBenchmark {
+    
+    private static final String RESPONSE = """
+        {"candidates":[{"content":{"parts":[{"text":"4"}],"role":"model"},"finishReason":"STOP","index":0,
+          "safetyRatings":[{"category":"HARM_CATEGORY_SEXUALLY_EXPLICIT","probability":"NEGLIGIBLE"},
+                           {"category":"HARM_CATEGORY_HATE_SPEECH","probability":"NEGLIGIBLE"},
+                           {"category":"HARM_CATEGORY_HARASSMENT","probability":"NEGLIGIBLE"},
+                           {"category":"HARM_CATEGORY_DANGEROUS_CONTENT","probability":"NEGLIGIBLE"}]}],
+         "usageMetadata":{"promptTokenCount":164,"candidatesTokenCount":1,"totalTokenCount":165},
+         "modelVersion":"gemini-1.5-flash"}
+        """;
+    
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final JsonFactory jsonFactory = objectMapper.getFactory();
+    
+    private String prompt;
+    private byte[] responseBytes;
+    
+    @Setup
+    public void setUp() {
+        prompt = """
+            You are an expert productivity assistant. Analyze the following task and assign a priority score from 1-5:
+            
+            Task: "Prepare slides for the quarterly client review"
+            Due Date: 2026-10-20
+            Today's Date: 2026-10-18
+            
+            Respond with ONLY a number from 1-5. No explanations, just the number.
+            """;
+        responseBytes = RESPONSE.getBytes(StandardCharsets.UTF_8);
+    }
+    
+    @Benchmark
+    public byte[] encodeWithMaps() throws Exception {
+        Map<String, Object> requestBody = new HashMap<>();
+        Map<String, Object> content = new HashMap<>();
+        Map<String, Object> part = new HashMap<>();
+        part.put("text", prompt);
+        content.put("parts", List.of(part));
+        requestBody.put("contents", List.of(content));
+        return objectMapper.writeValueAsBytes(requestBody);
+    }
+    
+    @Benchmark
+    public byte[] encodeWithTemplate() {
+        return GeminiClient.encodeRequest(prompt);
+    }
+    
+    @Benchmark
+    public String decodeWithTree() throws Exception {
+        JsonNode jsonNode = objectMapper.readTree(new String(responseBytes, StandardCharsets.UTF_8));
+        return jsonNode.path("candidates").get(0)
+            .path("content").path("parts").get(0)
+            .path("text").asText();
+    }
+    
+    @Benchmark
+    public String decodeWithStreamingParser() throws Exception {
+        try (JsonParser parser = jsonFactory.createParser(responseBytes)) {
+            return GeminiClient.readText(parser);
+        }
+    }
+}
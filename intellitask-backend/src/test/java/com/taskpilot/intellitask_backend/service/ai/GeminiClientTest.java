@@ -0,0 +1,38 @@
+package com.taskpilot.intellitask_backend.service.ai;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+class GeminiClientTest {
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void testEncodedRequestEscapesPrompt() throws Exception {
+        String prompt = "Task: \"Ship it\"\n\tTab, backslash \\ and unicode ✓";
+
+        byte[] body = GeminiClient.encodeRequest(prompt);
+
+        assertEquals(prompt, objectMapper.readTree(body)
+                .path("contents").path(0).path("parts").path(0).path("text").asText());
+    }
+
+    @Test
+    void testReadsFirstCandidateTextSkippingOtherFields() throws Exception {
+        String response = """
+            {"promptFeedback":{"safetyRatings":[{"category":"X","probability":"NEGLIGIBLE"}]},
+             "candidates":[{"finishReason":"STOP","content":{"role":"model","parts":[{"text":"4"},{"text":"ignored"}]}},
+                           {"content":{"parts":[{"text":"second"}]}}],
+             "usageMetadata":{"promptTokenCount":120}}
+            """;
+
+        assertEquals("4", GeminiClient.readText(objectMapper.getFactory().createParser(response)));
+    }
+
+    @Test
+    void testMissingTextReturnsNull() throws Exception {
+        String response = "{\"candidates\":[{\"finishReason\":\"SAFETY\"}]}";
+
+        assertNull(GeminiClient.readText(objectMapper.getFactory().createParser(response)));
+    }
+}
@@ -0,0 +1,38 @@
+package com.taskpilot.intellitask_backend.service.ai;
+
+import com.taskpilot.intellitask_backend.exception.ServiceUnavailableException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.time.Duration;
+
+class GeminiRateLimiterTest {
+    private GeminiRateLimiter limiter;
+
+    @AfterEach
+    void tearDown() {
+        limiter.shutdown();
+    }
+
+    @Test
+    void testShedsCallersAfterMaxWait() {
+        limiter = new GeminiRateLimiter(100, 10, 1, 1, 4, Duration.ofMillis(50), 10);
+
+        GeminiRateLimiter.Permit permit = limiter.acquireBlocking();
+        assertThrows(ServiceUnavailableException.class, () -> limiter.acquireBlocking());
+        assertEquals(1L, limiter.stats().get("shed"));
+
+        permit.onSuccess();
+        assertNotNull(limiter.acquireBlocking());
+    }
+
+    @Test
+    void testBackpressureHalvesConcurrencyLimit() {
+        limiter = new GeminiRateLimiter(100, 10, 8, 1, 16, Duration.ofMillis(50), 10);
+
+        limiter.acquireBlocking().onBackpressure();
+
+        assertEquals(4.0, limiter.stats().get("concurrencyLimit"));
+        assertEquals(0, limiter.stats().get("permitsInUse"));
+    }
+}
@@ -0,0 +1,21 @@
+package com.taskpilot.intellitask_backend.service.ai;
+
+import com.taskpilot.intellitask_backend.entity.PriorityEngine;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.time.LocalDate;
+
+class HeuristicPriorityEngineTest {
+    private final HeuristicPriorityEngine engine = new HeuristicPriorityEngine();
+
+    @Test
+    void testScoresFromDueDateAndKeywords() {
+        LocalDate today = LocalDate.now();
+
+        assertEquals(5, engine.score("Submit report", today).priority());
+        assertEquals(1, engine.score("Clean garage", today.plusDays(60)).priority());
+        assertEquals(4, engine.score("URGENT: call bank", null).priority());
+        assertEquals(1, engine.score("Maybe learn guitar", null).priority());
+        assertEquals(PriorityEngine.HEURISTIC, engine.score("gym", null).engine());
+    }
+}
@@ -0,0 +1,46 @@
+package com.taskpilot.intellitask_backend.service.ai;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class InFlightRequestCoalescerTest {
+    private final InFlightRequestCoalescer coalescer = new InFlightRequestCoalescer();
+
+    @Test
+    void testConcurrentIdenticalPromptsShareOneCall() {
+        AtomicInteger calls = new AtomicInteger();
+        Sinks.One<String> upstream = Sinks.one();
+
+        Mono<String> first = coalescer.execute("prompt", () -> {
+            calls.incrementAndGet();
+            return upstream.asMono();
+        });
+        Mono<String> second = coalescer.execute("prompt", () -> {
+            calls.incrementAndGet();
+            return upstream.asMono();
+        });
+        var firstResult = first.toFuture();
+        var secondResult = second.toFuture();
+        upstream.tryEmitValue("4");
+
+        assertEquals("4", firstResult.join());
+        assertEquals("4", secondResult.join());
+        assertEquals(1, calls.get());
+        assertEquals(0, coalescer.stats().get("inFlight"));
+    }
+
+    @Test
+    void testFailureIsSharedAndNotRemembered() {
+        Sinks.One<String> upstream = Sinks.one();
+        var first = coalescer.execute("p", upstream::asMono).toFuture();
+        var second = coalescer.execute("p", () -> Mono.just("unused")).toFuture();
+        upstream.tryEmitError(new IllegalStateException("boom"));
+
+        assertTrue(first.isCompletedExceptionally());
+        assertTrue(second.isCompletedExceptionally());
+        assertEquals("fresh", coalescer.execute("p", () -> Mono.just("fresh")).block());
+    }
+}
@@ -0,0 +1,36 @@
+package com.taskpilot.intellitask_backend.service.ai;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.time.Duration;
+import java.time.LocalDate;
+
+class PriorityCacheTest {
+    @Test
+    void testKeyNormalizesTaskAndBucketsDueDate() {
+        LocalDate today = LocalDate.of(2024, 3, 1);
+
+        assertEquals(
+            PriorityCache.key("Pay rent", today.plusDays(5), today),
+            PriorityCache.key("  pay   RENT ", today.plusDays(6), today)
+        );
+        assertNotEquals(
+            PriorityCache.key("Pay rent", today, today),
+            PriorityCache.key("Pay rent", today.plusDays(1), today)
+        );
+        assertEquals(DueDateBucket.OVERDUE, DueDateBucket.of(today.minusDays(3), today));
+        assertEquals(DueDateBucket.NO_DUE_DATE, DueDateBucket.of(null, today));
+    }
+
+    @Test
+    void testHitsAndMissesAreCounted() {
+        PriorityCache cache = new PriorityCache(100, Duration.ofMinutes(5));
+
+        assertNull(cache.get("gym", null));
+        cache.put("gym", null, 2);
+        assertEquals(2, cache.get("Gym", null));
+
+        assertEquals(1L, cache.stats().get("hits"));
+        assertEquals(1L, cache.stats().get("misses"));
+    }
+}
@@ -0,0 +1,36 @@
+package com.taskpilot.intellitask_backend.service.ai;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.time.LocalDate;
+
+class ScoringFingerprintTest {
+    private final LocalDate today = LocalDate.of(2026, 10, 18);
+
+    @Test
+    void testExpiresWhenDueDateBucketRollsOver() {
+        LocalDate due = today.plusDays(10);
+
+        ScoringFingerprint fingerprint = ScoringFingerprint.of("Plan offsite", due, today, 1);
+
+        assertEquals(DueDateBucket.WITHIN_2_WEEKS, fingerprint.dueBucket());
+        LocalDate expiresOn = fingerprint.expiresOn();
+        assertEquals(DueDateBucket.WITHIN_2_WEEKS, DueDateBucket.of(due, expiresOn.minusDays(1)));
+        assertEquals(DueDateBucket.WITHIN_WEEK, DueDateBucket.of(due, expiresOn));
+    }
+
+    @Test
+    void testTodayExpiresTomorrowAndOverdueNeverExpires() {
+        assertEquals(today.plusDays(1), ScoringFingerprint.of("a", today, today, 1).expiresOn());
+        assertNull(ScoringFingerprint.of("a", today.minusDays(3), today, 1).expiresOn());
+        assertNull(ScoringFingerprint.of("a", null, today, 1).expiresOn());
+    }
+
+    @Test
+    void testTextHashTracksTaskText() {
+        assertEquals(ScoringFingerprint.of("Buy milk", null, today, 1).textHash(),
+                ScoringFingerprint.of("Buy milk", null, today, 1).textHash());
+        assertNotEquals(ScoringFingerprint.of("Buy milk", null, today, 1).textHash(),
+                ScoringFingerprint.of("Buy eggs", null, today, 1).textHash());
+    }
+}
@@ -0,0 +1,32 @@
+package com.taskpilot.intellitask_backend.service.ai;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+class SummaryStreamLimiterTest {
+    @Test
+    void testTrimsShortSummaries() {
+        SummaryStreamLimiter limiter = new SummaryStreamLimiter(500);
+
+        String out = limiter.accept("  \n") + limiter.accept(" Focus on ") + limiter.accept("the report.  ")
+            + limiter.finish();
+
+        assertEquals("Focus on the report.", out);
+        assertFalse(limiter.isTruncated());
+    }
+
+    @Test
+    void testCapsLongSummariesLikeTheJsonEndpoint() {
+        SummaryStreamLimiter limiter = new SummaryStreamLimiter(500);
+        StringBuilder out = new StringBuilder();
+
+        for (int i = 0; i < 60; i++) {
+            out.append(limiter.accept("0123456789"));
+        }
+        out.append(limiter.finish());
+
+        assertEquals(500, out.length());
+        assertTrue(out.toString().endsWith("..."));
+        assertTrue(limiter.isTruncated());
+    }
+}
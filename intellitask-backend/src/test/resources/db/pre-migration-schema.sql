@@ -0,0 +1,5 @@
+-- What ddl-auto=update created for the entities before Flyway took over the schema
+create table users (id bigint not null auto_increment, created_at datetime(6) not null, email varchar(255) not null, first_name varchar(255) not null, last_name varchar(255), password varchar(255) not null, updated_at datetime(6), primary key (id)) engine=InnoDB;
+create table todo_items (id bigint not null auto_increment, ai_priority integer, completed boolean default false, created_at datetime(6) not null, date date, task varchar(255) not null, updated_at datetime(6), user_id bigint not null, primary key (id)) engine=InnoDB;
+alter table users add constraint UK_6dotkott2kjsp8vw4d0m25fb7 unique (email);
+alter table todo_items add constraint FKnwn6i1q5qqfrsajn1kfp5ok4f foreign key (user_id) references users (id);
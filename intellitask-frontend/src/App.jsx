@@ -174,8 +174,15 @@ function TodoApp() {
       // Show success message
       setPriorityMessage(result || "Priorities updated successfully!");
       
-      // Refresh the tasks to get updated priorities
-      await fetchItems();
+      // Priorities are rescored in the background; refresh until no task is still pending
+      for (let attempt = 0; attempt < 15; attempt++) {
+        const items = await getItemsFromServer(token);
+        setTodoItems(items || []);
+        if (!items.some((item) => !item.completed && item.aiPriorityPending)) {
+          break;
+        }
+        await new Promise((resolve) => setTimeout(resolve, 1000));
+      }
       
       // Clear message after 3 seconds
       setTimeout(() => {
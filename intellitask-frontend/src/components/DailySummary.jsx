@@ -1,5 +1,5 @@
 import { useState } from 'react';
-import { getDailySummary } from '../services/aiService';
+import { getDailySummary, streamDailySummary } from '../services/aiService';
 import { useAuth } from '../context/AuthContext';
 
 function DailySummary({ todoItems = [] }) {
@@ -30,7 +30,19 @@ function DailySummary({ todoItems = [] }) {
     try {
       setLoading(true);
       setError(null);
-      const summaryText = await getDailySummary(token);
+      let summaryText = '';
+      try {
+        // Show text as the model produces it
+        summaryText = await streamDailySummary(token, (partial) => {
+          setSummary(partial);
+          setHasGenerated(true);
+        });
+      } catch (streamError) {
+        console.warn('Streaming summary failed, falling back:', streamError);
+      }
+      if (!summaryText) {
+        summaryText = await getDailySummary(token);
+      }
       setSummary(summaryText);
       setHasGenerated(true);
     } catch (err) {
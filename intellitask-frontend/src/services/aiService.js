@@ -24,6 +24,58 @@ export const getDailySummary = async (token) => {
   }
 };
 
+export const streamDailySummary = async (token, onChunk) => {
+  if (!token) {
+    throw new Error('No authentication token available');
+  }
+
+  const response = await fetch("http://localhost:3001/api/todo/ai/daily-summary/stream", {
+    headers: {
+      Accept: "text/event-stream",
+      Authorization: `Bearer ${token}`,
+    },
+  });
+
+  if (!response.ok || !response.body) {
+    throw new Error(`HTTP ${response.status}: Failed to stream daily summary`);
+  }
+
+  const reader = response.body.getReader();
+  const decoder = new TextDecoder();
+  let buffer = '';
+  let summary = '';
+
+  while (true) {
+    const { done, value } = await reader.read();
+    if (done) {
+      break;
+    }
+    buffer += decoder.decode(value, { stream: true });
+
+    // Events are separated by a blank line; keep any partial event in the buffer
+    const events = buffer.split(/\r?\n\r?\n/);
+    buffer = events.pop();
+
+    for (const rawEvent of events) {
+      let eventName = 'message';
+      const dataLines = [];
+      for (const line of rawEvent.split(/\r?\n/)) {
+        if (line.startsWith('event:')) {
+          eventName = line.slice(6).trim();
+        } else if (line.startsWith('data:')) {
+          dataLines.push(line.slice(5));
+        }
+      }
+      if (eventName === 'summary') {
+        summary += dataLines.join('\n');
+        onChunk(summary);
+      }
+    }
+  }
+
+  return summary;
+};
+
 export const updateTaskPriorities = async (token) => {
   try {
     if (!token) {
@@ -135,5 +135,6 @@ const mapServerItemToLocalItem = (serverItem) => {
     createdAt: serverItem.createdAt,
     updatedAt: serverItem.updatedAt,
     aiPriority: serverItem.aiPriority ?? 0,
+    aiPriorityPending: serverItem.aiPriorityPending || false,
   };
 };
\ No newline at end of file